@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.bench;
+
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Table of charts in an embedded PostgreSQL, shared by benchmarks.
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class ChartsTable {
+
+    /**
+     * Number of charts in table.
+     */
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    /**
+     * Data source.
+     */
+    private DataSource source;
+
+    /**
+     * Create and fill table.
+     * @throws Exception If fails
+     */
+    @Setup(Level.Trial)
+    public void create() throws Exception {
+        this.source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(this.source).install();
+        try (
+            Connection connection = this.source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.format(
+                    String.join(
+                        " ",
+                        "INSERT INTO accounting_chart (type, state, version)",
+                        "SELECT 'SYSCOHADA', 'ACTIVE', '2018'",
+                        "FROM generate_series(1, %d)"
+                    ),
+                    this.size
+                )
+            );
+            s.execute("ANALYZE accounting_chart");
+        }
+    }
+
+    /**
+     * Remove charts added during an iteration, so that size stays the same.
+     * @throws Exception If fails
+     */
+    @TearDown(Level.Iteration)
+    public void shrink() throws Exception {
+        try (
+            Connection connection = this.source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.format(
+                    "DELETE FROM accounting_chart WHERE id > %d",
+                    this.size
+                )
+            );
+        }
+    }
+
+    /**
+     * Data source.
+     * @return Data source
+     */
+    public DataSource source() {
+        return this.source;
+    }
+
+    /**
+     * ID of a chart in the middle of the table.
+     * @return Chart ID
+     */
+    public Long middle() {
+        return (long) (this.size / 2 + 1);
+    }
+}
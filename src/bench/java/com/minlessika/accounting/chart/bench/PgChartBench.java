@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.bench;
+
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgChartSnapshot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link PgChart} accessors.
+ * @since 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PgChartBench {
+
+    /**
+     * Read name.
+     * @param table Table of charts
+     * @return Name
+     */
+    @Benchmark
+    public String name(final ChartsTable table) {
+        return new PgChart(table.source(), table.middle()).name();
+    }
+
+    /**
+     * Read type.
+     * @param table Table of charts
+     * @return Type
+     */
+    @Benchmark
+    public ChartType type(final ChartsTable table) {
+        return new PgChart(table.source(), table.middle()).type();
+    }
+
+    /**
+     * Read version.
+     * @param table Table of charts
+     * @return Version
+     */
+    @Benchmark
+    public String version(final ChartsTable table) {
+        return new PgChart(table.source(), table.middle()).version();
+    }
+
+    /**
+     * Read state.
+     * @param table Table of charts
+     * @return State
+     */
+    @Benchmark
+    public ChartState state(final ChartsTable table) {
+        return new PgChart(table.source(), table.middle()).state();
+    }
+
+    /**
+     * Read the whole row.
+     * @param table Table of charts
+     * @return Snapshot
+     */
+    @Benchmark
+    public PgChartSnapshot snapshot(final ChartsTable table) {
+        return new PgChart(table.source(), table.middle()).snapshot();
+    }
+}
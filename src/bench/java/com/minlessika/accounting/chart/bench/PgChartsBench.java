@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.bench;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgSnapshotCharts;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link PgCharts}.
+ *
+ * <p>Throughput and sampled latency (with percentiles) are reported for
+ * each table size; allocation rate comes from the gc profiler.
+ *
+ * @since 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PgChartsBench {
+
+    /**
+     * Iterate all charts and read their name.
+     * @param table Table of charts
+     * @param hole Black hole
+     */
+    @Benchmark
+    public void iterate(final ChartsTable table, final Blackhole hole) {
+        for (final Chart chart : new PgCharts(table.source()).iterate()) {
+            hole.consume(chart.name());
+        }
+    }
+
+    /**
+     * Iterate all loaded charts and read their name.
+     * @param table Table of charts
+     * @param hole Black hole
+     */
+    @Benchmark
+    public void iterateSnapshots(final ChartsTable table,
+        final Blackhole hole) {
+        for (final Chart chart
+            : new PgSnapshotCharts(table.source()).iterate()) {
+            hole.consume(chart.name());
+        }
+    }
+
+    /**
+     * Stream all charts through a cursor and read their name.
+     * @param table Table of charts
+     * @param hole Black hole
+     */
+    @Benchmark
+    public void iterateCursor(final ChartsTable table, final Blackhole hole) {
+        new PgCharts(table.source()).iterate(500).forEach(
+            chart -> hole.consume(chart.name())
+        );
+    }
+
+    /**
+     * Count charts.
+     * @param table Table of charts
+     * @return Number of charts
+     */
+    @Benchmark
+    public Long size(final ChartsTable table) {
+        return new PgCharts(table.source()).size();
+    }
+
+    /**
+     * Estimate number of charts.
+     * @param table Table of charts
+     * @return Number of charts
+     */
+    @Benchmark
+    public Long estimate(final ChartsTable table) {
+        return new PgCharts(table.source()).estimate();
+    }
+
+    /**
+     * Get a chart.
+     * @param table Table of charts
+     * @return Chart
+     */
+    @Benchmark
+    public Chart get(final ChartsTable table) {
+        return new PgCharts(table.source()).get(table.middle());
+    }
+
+    /**
+     * Add a chart.
+     * @param table Table of charts
+     * @return Chart
+     */
+    @Benchmark
+    public Chart add(final ChartsTable table) {
+        return new PgCharts(table.source()).add(ChartType.SYSCOHADA, "2018");
+    }
+}
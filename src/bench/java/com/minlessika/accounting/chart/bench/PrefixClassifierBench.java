@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.bench;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.AccountCategory;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.policy.PrefixClassifier;
+import com.minlessika.accounting.chart.domain.reference.ReferenceCharts;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link PrefixClassifier}.
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefixClassifierBench {
+
+    /**
+     * Number of codes of the ledger.
+     */
+    @Param({"1000000"})
+    private int size;
+
+    /**
+     * Classifier.
+     */
+    private PrefixClassifier classifier;
+
+    /**
+     * Codes of the ledger, taken from the SYSCOHADA reference chart.
+     */
+    private List<String> codes;
+
+    /**
+     * Build classifier and codes.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.classifier = new PrefixClassifier(
+            new String[]{"52", "57", "41", "40"},
+            new AccountCategory[]{
+                AccountCategory.BANK,
+                AccountCategory.CASH,
+                AccountCategory.RECEIVABLE,
+                AccountCategory.PAYABLE,
+            }
+        );
+        final List<String> reference = new ArrayList<>(0);
+        for (final Account account
+            : new ReferenceCharts().get(ChartType.SYSCOHADA)) {
+            reference.add(account.code());
+        }
+        this.codes = new ArrayList<>(this.size);
+        for (int idx = 0; idx < this.size; ++idx) {
+            this.codes.add(reference.get(idx % reference.size()));
+        }
+    }
+
+    /**
+     * Classify the ledger code by code.
+     * @return Number of bank accounts
+     */
+    @Benchmark
+    public int sequential() {
+        int banks = 0;
+        for (final String code : this.codes) {
+            if (this.classifier.classify(code) == AccountCategory.BANK) {
+                banks += 1;
+            }
+        }
+        return banks;
+    }
+
+    /**
+     * Classify the ledger as a batch.
+     * @return Categories
+     */
+    @Benchmark
+    public AccountCategory[] parallel() {
+        return this.classifier.classify(this.codes);
+    }
+}
@@ -81,6 +81,7 @@ public interface Account {
      * Clone account.
      * @param code Code of new account
      * @param name Name of new account
+     * @throws IllegalArgumentException If code already exists
      */
     void clone(String code, String name);
 }
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.api;
+
+/**
+ * Category of an account according to a {@link Policy}.
+ * @since 1.0.0
+ */
+public enum AccountCategory {
+
+    /**
+     * Bank account.
+     */
+    BANK {
+        @Override
+        public String toString() {
+            return "Banque";
+        }
+    },
+
+    /**
+     * Cash account.
+     */
+    CASH {
+        @Override
+        public String toString() {
+            return "Caisse";
+        }
+    },
+
+    /**
+     * Receivable account.
+     */
+    RECEIVABLE {
+        @Override
+        public String toString() {
+            return "Créance";
+        }
+    },
+
+    /**
+     * Payable account.
+     */
+    PAYABLE {
+        @Override
+        public String toString() {
+            return "Dette";
+        }
+    },
+
+    /**
+     * Any other account.
+     */
+    OTHER {
+        @Override
+        public String toString() {
+            return "Autre";
+        }
+    };
+}
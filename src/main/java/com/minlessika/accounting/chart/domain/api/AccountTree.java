@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.api;
+
+/**
+ * Accounts of a chart seen as a tree.
+ *
+ * <p>Account codes are hierarchical: an account is under every account
+ * whose code is a prefix of its own (4, 41, 411, 4111).
+ *
+ * @since 1.0.0
+ */
+public interface AccountTree {
+
+    /**
+     * Closest account above.
+     * @param code Code
+     * @return Parent account
+     * @throws IllegalArgumentException If account has no parent
+     */
+    Account parent(String code);
+
+    /**
+     * Accounts directly under.
+     * <p>Ordered by code ascending.
+     * @param code Code
+     * @return Children accounts
+     */
+    Iterable<Account> children(String code);
+
+    /**
+     * All accounts under.
+     * <p>Ordered by code ascending.
+     * @param code Code
+     * @return Descendant accounts
+     */
+    Iterable<Account> descendants(String code);
+
+    /**
+     * All accounts above.
+     * <p>Ordered from the root down to the parent.
+     * @param code Code
+     * @return Ancestor accounts
+     */
+    Iterable<Account> ancestors(String code);
+}
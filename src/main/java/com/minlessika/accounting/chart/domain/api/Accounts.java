@@ -47,6 +47,28 @@ public interface Accounts {
      */
     Iterable<Account> iterate(int start, int limit, String filter);
 
+    /**
+     * Select a number of accounts after a given code.
+     * <p>Ordered by code ascending. Unlike
+     * {@link #iterate(int, int, String)}, the cost of a page doesn't
+     * depend on its position: pass the code of the last account of
+     * the previous page, or an empty string for the first page.
+     * @param after Code of last account already read
+     * @param limit Number of {@link Account} to select
+     * @param filter Filter on code or name
+     * @return Accounts selected
+     */
+    Iterable<Account> iterate(String after, int limit, String filter);
+
+    /**
+     * Select accounts whose code starts with a prefix.
+     * <p>Ordered by code ascending. The account whose code is the prefix
+     * itself is included.
+     * @param prefix Code prefix
+     * @return Accounts selected
+     */
+    Iterable<Account> prefixed(String prefix);
+
     /**
      * Total number of accounts.
      * @return Total
@@ -72,6 +94,7 @@ public interface Accounts {
      * Add an account.
      * @param code Code
      * @param name Name
+     * @throws IllegalArgumentException If code already exists
      */
     void add(String code, String name);
 
@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Blocking call run on an executor.
+ *
+ * <p>A rejected call gives a future failed with
+ * {@link RejectedExecutionException} rather than throwing.
+ *
+ * @param <T> Type of result
+ * @since 1.0.0
+ */
+final class Async<T> {
+
+    /**
+     * Executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Blocking call.
+     */
+    private final Supplier<T> call;
+
+    /**
+     * Ctor.
+     * @param executor Executor
+     * @param call Blocking call
+     */
+    Async(final Executor executor, final Supplier<T> call) {
+        this.executor = executor;
+        this.call = call;
+    }
+
+    /**
+     * Run call.
+     * @return Future result
+     */
+    public CompletableFuture<T> future() {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(this.call, this.executor);
+        } catch (final RejectedExecutionException ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Chart whose calls run on an executor.
+ * @since 1.0.0
+ */
+public final class AsyncChart {
+
+    /**
+     * Origin.
+     */
+    private final Chart origin;
+
+    /**
+     * Executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param executor Executor
+     */
+    public AsyncChart(final Chart origin, final Executor executor) {
+        this.origin = origin;
+        this.executor = executor;
+    }
+
+    /**
+     * Unique identifier.
+     * @return ID
+     */
+    public Long number() {
+        return this.origin.number();
+    }
+
+    /**
+     * Name.
+     * @return Future name
+     */
+    public CompletableFuture<String> name() {
+        return new Async<>(this.executor, this.origin::name).future();
+    }
+
+    /**
+     * Chart type.
+     * @return Future type
+     */
+    public CompletableFuture<ChartType> type() {
+        return new Async<>(this.executor, this.origin::type).future();
+    }
+
+    /**
+     * Version.
+     * @return Future version
+     */
+    public CompletableFuture<String> version() {
+        return new Async<>(this.executor, this.origin::version).future();
+    }
+
+    /**
+     * Chart state.
+     * @return Future state
+     */
+    public CompletableFuture<ChartState> state() {
+        return new Async<>(this.executor, this.origin::state).future();
+    }
+
+    /**
+     * Activate or deactivate.
+     * @param enable Enable
+     * @return Future completion
+     */
+    public CompletableFuture<Void> activate(final boolean enable) {
+        return new Async<Void>(
+            this.executor,
+            () -> {
+                this.origin.activate(enable);
+                return null;
+            }
+        ).future();
+    }
+}
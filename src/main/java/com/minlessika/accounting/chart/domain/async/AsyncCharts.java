@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Charts whose calls run on an executor.
+ *
+ * <p>Calling threads never block on the database. When the executor is
+ * saturated, futures fail at once with
+ * {@link java.util.concurrent.RejectedExecutionException} (see
+ * {@link JdbcExecutor}). Origin should return loaded charts (for
+ * instance {@code PgSnapshotCharts}) so that reading charts costs no
+ * more round trip.
+ *
+ * @since 1.0.0
+ */
+public final class AsyncCharts {
+
+    /**
+     * Origin.
+     */
+    private final Charts origin;
+
+    /**
+     * Executor.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param executor Executor
+     */
+    public AsyncCharts(final Charts origin, final Executor executor) {
+        this.origin = origin;
+        this.executor = executor;
+    }
+
+    /**
+     * Iterate them all.
+     * <p>Ordered by id ascending.
+     * @return Future charts
+     */
+    public CompletableFuture<List<AsyncChart>> iterate() {
+        return new Async<>(
+            this.executor,
+            () -> {
+                final List<AsyncChart> charts = new ArrayList<>(0);
+                for (final Chart chart : this.origin.iterate()) {
+                    charts.add(new AsyncChart(chart, this.executor));
+                }
+                return charts;
+            }
+        ).future();
+    }
+
+    /**
+     * Total number of charts.
+     * @return Future number
+     */
+    public CompletableFuture<Long> size() {
+        return new Async<>(this.executor, this.origin::size).future();
+    }
+
+    /**
+     * Get chart by its ID.
+     * @param number ID
+     * @return Future chart
+     */
+    public CompletableFuture<AsyncChart> get(final Long number) {
+        return new Async<>(
+            this.executor,
+            () -> new AsyncChart(this.origin.get(number), this.executor)
+        ).future();
+    }
+
+    /**
+     * Create a chart.
+     * @param type Type
+     * @param version Version
+     * @return Future chart created
+     */
+    public CompletableFuture<AsyncChart> add(final ChartType type,
+        final String version) {
+        return new Async<>(
+            this.executor,
+            () -> new AsyncChart(this.origin.add(type, version), this.executor)
+        ).future();
+    }
+
+    /**
+     * Remove a chart.
+     * @param id Chart id
+     * @return Future completion
+     */
+    public CompletableFuture<Void> remove(final Long id) {
+        return new Async<Void>(
+            this.executor,
+            () -> {
+                this.origin.remove(id);
+                return null;
+            }
+        ).future();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor of blocking JDBC calls, with backpressure.
+ *
+ * <p>At most a given number of tasks can be in flight, running or
+ * waiting for a thread. Beyond that, tasks are rejected at once with
+ * {@link RejectedExecutionException} instead of piling up, so that
+ * callers can shed load when the database is slow. It should be sized
+ * on the connection pool.
+ *
+ * @since 1.0.0
+ */
+public final class JdbcExecutor implements Executor, AutoCloseable {
+
+    /**
+     * Origin.
+     */
+    private final ExecutorService origin;
+
+    /**
+     * Maximum number of tasks in flight.
+     */
+    private final int limit;
+
+    /**
+     * Free slots.
+     */
+    private final Semaphore slots;
+
+    /**
+     * Ctor.
+     * <p>Tasks run on virtual threads when the runtime supports them,
+     * else on a pool of {@code limit} platform threads.
+     * @param limit Maximum number of tasks in flight
+     */
+    public JdbcExecutor(final int limit) {
+        this(new Workers(limit).service(), limit);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param limit Maximum number of tasks in flight
+     */
+    public JdbcExecutor(final ExecutorService origin, final int limit) {
+        this.origin = origin;
+        this.limit = limit;
+        this.slots = new Semaphore(limit);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (!this.slots.tryAcquire()) {
+            throw new RejectedExecutionException(
+                String.format(
+                    "JdbcExecutor is saturated: %d tasks already in flight.",
+                    this.limit
+                )
+            );
+        }
+        try {
+            this.origin.execute(
+                () -> {
+                    try {
+                        task.run();
+                    } finally {
+                        this.slots.release();
+                    }
+                }
+            );
+        } catch (final RejectedExecutionException ex) {
+            this.slots.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Number of tasks that can still be accepted.
+     * @return Free slots
+     */
+    public int available() {
+        return this.slots.availablePermits();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It waits for tasks already accepted to end. If interrupted
+     * meanwhile, it cancels them and keeps the thread interrupted.
+     */
+    @Override
+    public void close() {
+        this.origin.shutdown();
+        try {
+            this.origin.awaitTermination(1L, TimeUnit.MINUTES);
+        } catch (final InterruptedException ex) {
+            this.origin.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads running blocking calls.
+ *
+ * <p>A new virtual thread per task when the runtime supports them
+ * (Java 21 and later), else a fixed pool of daemon platform threads.
+ *
+ * @since 1.0.0
+ */
+final class Workers {
+
+    /**
+     * Number of platform threads, if virtual threads aren't supported.
+     */
+    private final int threads;
+
+    /**
+     * Ctor.
+     * @param threads Number of platform threads, if virtual threads
+     *  aren't supported
+     */
+    Workers(final int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Executor service.
+     * @return Service
+     */
+    public ExecutorService service() {
+        ExecutorService service;
+        try {
+            service = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            final AtomicInteger count = new AtomicInteger();
+            service = Executors.newFixedThreadPool(
+                this.threads,
+                task -> {
+                    final Thread thread = new Thread(
+                        task,
+                        String.format("jdbc-%d", count.incrementAndGet())
+                    );
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        return service;
+    }
+}
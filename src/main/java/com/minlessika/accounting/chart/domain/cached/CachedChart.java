@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import java.util.function.Supplier;
+
+/**
+ * Chart read through a cache.
+ *
+ * <p>Attributes are read from origin once and then served from cache
+ * until they expire or the chart is activated through this object.
+ *
+ * @since 1.0.0
+ */
+public final class CachedChart implements Chart {
+
+    /**
+     * Unique identifier.
+     */
+    private final Long id;
+
+    /**
+     * Origin, only resolved on cache miss or write.
+     */
+    private final Supplier<Chart> origin;
+
+    /**
+     * Cache of charts attributes by ID.
+     */
+    private final ExpiringCache<Long, Chart> cache;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param cache Cache of charts attributes by ID
+     */
+    public CachedChart(final Chart origin,
+        final ExpiringCache<Long, Chart> cache) {
+        this(origin.number(), () -> origin, cache);
+    }
+
+    /**
+     * Ctor.
+     * @param charts Origin charts
+     * @param number Chart ID
+     * @param cache Cache of charts attributes by ID
+     */
+    public CachedChart(final Charts charts, final Long number,
+        final ExpiringCache<Long, Chart> cache) {
+        this(number, () -> charts.get(number), cache);
+    }
+
+    /**
+     * Ctor.
+     * @param number Chart ID
+     * @param origin Origin
+     * @param cache Cache of charts attributes by ID
+     */
+    private CachedChart(final Long number, final Supplier<Chart> origin,
+        final ExpiringCache<Long, Chart> cache) {
+        this.id = number;
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public Long number() {
+        return this.id;
+    }
+
+    @Override
+    public String name() {
+        return this.cached().name();
+    }
+
+    @Override
+    public ChartType type() {
+        return this.cached().type();
+    }
+
+    @Override
+    public String version() {
+        return this.cached().version();
+    }
+
+    @Override
+    public ChartState state() {
+        return this.cached().state();
+    }
+
+    @Override
+    public void activate(final boolean enable) {
+        this.origin.get().activate(enable);
+        this.cache.invalidate(this.id);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cached chart with ID %s", this.id);
+    }
+
+    /**
+     * Attributes from cache.
+     * @return Chart copy
+     */
+    private Chart cached() {
+        return this.cache.get(
+            this.id,
+            key -> new ChartCopy(this.origin.get(), this.cache)
+        );
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charts read through a cache.
+ *
+ * <p>Charts attributes are kept in an {@link ExpiringCache} by ID.
+ * Activating or removing a chart through this object invalidates its
+ * entry. Adding a chart invalidates any entry left under its ID.
+ * Origin should return loaded charts (for instance
+ * {@code PgSnapshotCharts}) so that a miss costs a single query.
+ * Listing all charts stores each of them in cache, so that reading
+ * them afterwards costs no query.
+ * When several nodes share a database, writes from other nodes can be
+ * evicted with {@code PgChangeListener}, given {@code cache::invalidate}
+ * and {@code cache::invalidateAll}.
+ *
+ * @since 1.0.0
+ */
+public final class CachedCharts implements Charts {
+
+    /**
+     * Origin.
+     */
+    private final Charts origin;
+
+    /**
+     * Cache of charts attributes by ID.
+     */
+    private final ExpiringCache<Long, Chart> cache;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param capacity Maximum number of charts in cache
+     * @param ttl Time to live
+     * @param unit Unit of time to live
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public CachedCharts(final Charts origin, final int capacity,
+        final long ttl, final TimeUnit unit) {
+        this(origin, new ExpiringCache<>(capacity, ttl, unit));
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param cache Cache of charts attributes by ID
+     */
+    public CachedCharts(final Charts origin,
+        final ExpiringCache<Long, Chart> cache) {
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public Iterable<Chart> iterate() {
+        final Map<Long, Chart> copies = this.cache.load(
+            () -> {
+                final Map<Long, Chart> loaded = new LinkedHashMap<>(0);
+                for (final Chart chart : this.origin.iterate()) {
+                    loaded.put(
+                        chart.number(), new ChartCopy(chart, this.cache)
+                    );
+                }
+                return loaded;
+            }
+        );
+        final List<Chart> charts = new ArrayList<>(copies.size());
+        for (final Long id : copies.keySet()) {
+            charts.add(new CachedChart(this.origin, id, this.cache));
+        }
+        return charts;
+    }
+
+    @Override
+    public Long size() {
+        return this.origin.size();
+    }
+
+    @Override
+    public Chart get(final Long number) {
+        this.cache.get(number, id -> new ChartCopy(this.origin.get(id), this.cache));
+        return new CachedChart(this.origin, number, this.cache);
+    }
+
+    @Override
+    public Chart add(final ChartType type, final String version) {
+        final Chart chart = this.origin.add(type, version);
+        this.cache.invalidate(chart.number());
+        return new CachedChart(chart, this.cache);
+    }
+
+    @Override
+    public void remove(final Long id) {
+        this.origin.remove(id);
+        this.cache.invalidate(id);
+    }
+}
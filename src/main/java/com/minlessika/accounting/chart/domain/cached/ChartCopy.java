@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+
+/**
+ * Immutable copy of a chart attributes, as stored in cache.
+ *
+ * <p>It may be read from the cache by anyone holding it, so it stays a
+ * full chart: activating it activates the origin and evicts the copy.
+ *
+ * @since 1.0.0
+ */
+final class ChartCopy implements Chart {
+
+    /**
+     * Unique identifier.
+     */
+    private final Long id;
+
+    /**
+     * Name.
+     */
+    private final String label;
+
+    /**
+     * Type.
+     */
+    private final ChartType kind;
+
+    /**
+     * Version.
+     */
+    private final String release;
+
+    /**
+     * State.
+     */
+    private final ChartState status;
+
+    /**
+     * Chart copied.
+     */
+    private final Chart origin;
+
+    /**
+     * Cache holding the copy.
+     */
+    private final ExpiringCache<Long, Chart> cache;
+
+    /**
+     * Ctor.
+     * @param origin Chart to copy
+     * @param cache Cache holding the copy
+     */
+    ChartCopy(final Chart origin, final ExpiringCache<Long, Chart> cache) {
+        this.id = origin.number();
+        this.label = origin.name();
+        this.kind = origin.type();
+        this.release = origin.version();
+        this.status = origin.state();
+        this.origin = origin;
+        this.cache = cache;
+    }
+
+    @Override
+    public Long number() {
+        return this.id;
+    }
+
+    @Override
+    public String name() {
+        return this.label;
+    }
+
+    @Override
+    public ChartType type() {
+        return this.kind;
+    }
+
+    @Override
+    public String version() {
+        return this.release;
+    }
+
+    @Override
+    public ChartState state() {
+        return this.status;
+    }
+
+    @Override
+    public void activate(final boolean enable) {
+        this.origin.activate(enable);
+        this.cache.invalidate(this.id);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache with time to live.
+ *
+ * <p>Least recently used entries are evicted once capacity is reached,
+ * and entries older than time to live are evicted on access. Values
+ * loaded while an invalidation happens are not stored, so a write seen
+ * by {@link #invalidate(Object)} is never hidden by a concurrent load.
+ *
+ * @param <K> Type of key
+ * @param <V> Type of value
+ * @since 1.0.0
+ */
+public final class ExpiringCache<K, V> {
+
+    /**
+     * Entries, least recently used first.
+     */
+    private final Map<K, Entry<V>> entries;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Time to live in nanoseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Clock in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Number of invalidations, used to drop stale loads.
+     */
+    private final AtomicLong generation;
+
+    /**
+     * Hits.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Misses.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Evictions.
+     */
+    private final AtomicLong eviction;
+
+    /**
+     * Ctor.
+     * @param capacity Maximum number of entries
+     * @param ttl Time to live
+     * @param unit Unit of time to live
+     */
+    public ExpiringCache(final int capacity, final long ttl,
+        final TimeUnit unit) {
+        this(capacity, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    /**
+     * Ctor.
+     * @param capacity Maximum number of entries
+     * @param ttl Time to live in nanoseconds
+     * @param clock Clock in nanoseconds
+     */
+    public ExpiringCache(final int capacity, final long ttl,
+        final LongSupplier clock) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = capacity;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.generation = new AtomicLong();
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+        this.eviction = new AtomicLong();
+    }
+
+    /**
+     * Get a value, loading it on miss.
+     * @param key Key
+     * @param loader Loader of value
+     * @return Value
+     */
+    public V get(final K key, final Function<K, V> loader) {
+        final long gen;
+        synchronized (this.entries) {
+            final Entry<V> entry = this.entries.get(key);
+            if (entry != null) {
+                if (entry.expiry - this.clock.getAsLong() > 0) {
+                    this.hit.incrementAndGet();
+                    return entry.value;
+                }
+                this.entries.remove(key);
+                this.eviction.incrementAndGet();
+            }
+            gen = this.generation.get();
+        }
+        this.miss.incrementAndGet();
+        final V value = loader.apply(key);
+        this.store(Collections.singletonMap(key, value), gen);
+        return value;
+    }
+
+    /**
+     * Load values together, for instance from a listing, and store them.
+     * <p>Values already in cache are replaced. Like values loaded on
+     * miss, they are not stored if an invalidation happens meanwhile.
+     * @param loader Loader of values by key
+     * @return Values loaded
+     */
+    public Map<K, V> load(final Supplier<Map<K, V>> loader) {
+        final long gen = this.generation.get();
+        final Map<K, V> values = loader.get();
+        this.store(values, gen);
+        return values;
+    }
+
+    /**
+     * Invalidate an entry.
+     * @param key Key
+     */
+    public void invalidate(final K key) {
+        synchronized (this.entries) {
+            this.generation.incrementAndGet();
+            this.entries.remove(key);
+        }
+    }
+
+    /**
+     * Invalidate all entries.
+     */
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.generation.incrementAndGet();
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * Number of entries.
+     * @return Size
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Number of hits.
+     * @return Hits
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of misses.
+     * @return Misses
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Number of entries evicted because of capacity or time to live.
+     * @return Evictions
+     */
+    public long evictions() {
+        return this.eviction.get();
+    }
+
+    /**
+     * Store values, unless an invalidation happened since they were
+     * loaded, and evict least recently used entries beyond capacity.
+     * @param values Values by key
+     * @param gen Generation when values were loaded
+     */
+    private void store(final Map<K, V> values, final long gen) {
+        synchronized (this.entries) {
+            if (gen == this.generation.get()) {
+                final long expiry = this.clock.getAsLong() + this.ttl;
+                for (final Map.Entry<K, V> value : values.entrySet()) {
+                    this.entries.put(
+                        value.getKey(), new Entry<>(value.getValue(), expiry)
+                    );
+                }
+                final Iterator<K> eldest = this.entries.keySet().iterator();
+                while (this.entries.size() > this.capacity) {
+                    eldest.next();
+                    eldest.remove();
+                    this.eviction.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache entry.
+     * @param <V> Type of value
+     * @since 1.0.0
+     */
+    private static final class Entry<V> {
+
+        /**
+         * Value.
+         */
+        private final V value;
+
+        /**
+         * Expiry time in nanoseconds.
+         */
+        private final long expiry;
+
+        /**
+         * Ctor.
+         * @param value Value
+         * @param expiry Expiry time in nanoseconds
+         */
+        Entry(final V value, final long expiry) {
+            this.value = value;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Data source that counts, by thread, connections borrowed and SQL
+ * statements executed.
+ *
+ * <p>Give {@code source::statements} to metered decorators so that they
+ * record how many statements each call executes.
+ *
+ * @since 1.0.0
+ */
+public final class CountingDataSource implements DataSource {
+
+    /**
+     * Index of statements counter.
+     */
+    private static final int STATEMENTS = 0;
+
+    /**
+     * Index of connections counter.
+     */
+    private static final int CONNECTIONS = 1;
+
+    /**
+     * Origin.
+     */
+    private final DataSource origin;
+
+    /**
+     * Counters of current thread.
+     */
+    private final ThreadLocal<long[]> counters;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     */
+    public CountingDataSource(final DataSource origin) {
+        this.origin = origin;
+        this.counters = ThreadLocal.withInitial(() -> new long[2]);
+    }
+
+    /**
+     * Number of SQL statements executed so far by current thread.
+     * @return Statements
+     */
+    public long statements() {
+        return this.counters.get()[CountingDataSource.STATEMENTS];
+    }
+
+    /**
+     * Number of connections borrowed so far by current thread.
+     * @return Connections
+     */
+    public long connections() {
+        return this.counters.get()[CountingDataSource.CONNECTIONS];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.counted(this.origin.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username,
+        final String password) throws SQLException {
+        return this.counted(this.origin.getConnection(username, password));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.origin.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter writer) throws SQLException {
+        this.origin.setLogWriter(writer);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        this.origin.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.origin.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        return this.origin.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return this.origin.isWrapperFor(iface);
+    }
+
+    /**
+     * Count a connection and the statements it executes.
+     * @param connection Connection
+     * @return Counted connection
+     */
+    private Connection counted(final Connection connection) {
+        this.counters.get()[CountingDataSource.CONNECTIONS] += 1L;
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                final Object result = CountingDataSource.invoke(
+                    connection, method, args
+                );
+                final Object wrapped;
+                if (result instanceof Statement) {
+                    wrapped = this.counted(
+                        (Statement) result, method.getReturnType()
+                    );
+                } else {
+                    wrapped = result;
+                }
+                return wrapped;
+            }
+        );
+    }
+
+    /**
+     * Count statements executed.
+     * @param statement Statement
+     * @param type Statement interface
+     * @return Counted statement
+     */
+    private Object counted(final Statement statement, final Class<?> type) {
+        return Proxy.newProxyInstance(
+            Statement.class.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    this.counters.get()[CountingDataSource.STATEMENTS] += 1L;
+                }
+                return CountingDataSource.invoke(statement, method, args);
+            }
+        );
+    }
+
+    /**
+     * Invoke a method on target.
+     * @param target Target
+     * @param method Method
+     * @param args Arguments
+     * @return Result
+     * @throws Throwable If fails
+     */
+    private static Object invoke(final Object target, final Method method,
+        final Object... args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with power of two buckets.
+ *
+ * <p>Bucket {@code i} counts durations in [2^(i-1), 2^i) nanoseconds,
+ * so recording is allocation-free and lock-free, and percentiles are
+ * accurate within a factor of two.
+ *
+ * @since 1.0.0
+ */
+public final class Histogram {
+
+    /**
+     * Number of buckets.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * Counts by bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * Sum of durations.
+     */
+    private final LongAdder sum;
+
+    /**
+     * Max duration.
+     */
+    private final LongAccumulator max;
+
+    /**
+     * Ctor.
+     */
+    public Histogram() {
+        this.buckets = new AtomicLongArray(Histogram.BUCKETS);
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * Record a duration.
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(
+            Math.min(
+                Histogram.BUCKETS - 1,
+                Long.SIZE - Long.numberOfLeadingZeros(value)
+            )
+        );
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Number of durations recorded.
+     * @return Count
+     */
+    public long count() {
+        long count = 0L;
+        for (int idx = 0; idx < Histogram.BUCKETS; idx += 1) {
+            count += this.buckets.get(idx);
+        }
+        return count;
+    }
+
+    /**
+     * Mean duration.
+     * @param unit Unit
+     * @return Mean
+     */
+    public double mean(final TimeUnit unit) {
+        final long count = this.count();
+        final double mean;
+        if (count == 0L) {
+            mean = 0.0;
+        } else {
+            mean = Histogram.in(this.sum.sum(), unit) / count;
+        }
+        return mean;
+    }
+
+    /**
+     * Max duration.
+     * @param unit Unit
+     * @return Max
+     */
+    public double max(final TimeUnit unit) {
+        return Histogram.in(this.max.get(), unit);
+    }
+
+    /**
+     * Upper bound of a percentile.
+     * @param quantile Quantile, between 0 and 1
+     * @param unit Unit
+     * @return Duration under which this quantile of calls are
+     */
+    public double percentile(final double quantile, final TimeUnit unit) {
+        final long count = this.count();
+        final long rank = (long) Math.ceil(quantile * count);
+        long seen = 0L;
+        long bound = 0L;
+        for (int idx = 0; idx < Histogram.BUCKETS && count > 0L; idx += 1) {
+            seen += this.buckets.get(idx);
+            if (seen >= rank) {
+                bound = 1L << idx;
+                break;
+            }
+        }
+        return Histogram.in(Math.min(bound, this.max.get()), unit);
+    }
+
+    /**
+     * Convert nanoseconds.
+     * @param nanos Nanoseconds
+     * @param unit Unit
+     * @return Duration in unit
+     */
+    private static double in(final long nanos, final TimeUnit unit) {
+        return (double) nanos / unit.toNanos(1L);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics kept in memory and exposed through JMX.
+ *
+ * <p>Each method gets an MXBean named
+ * {@code com.minlessika.accounting.chart:type=<scope>,name=<method>},
+ * registered on its first call.
+ *
+ * @since 1.0.0
+ */
+public final class JmxMetrics implements Metrics {
+
+    /**
+     * JMX domain.
+     */
+    private static final String DOMAIN = "com.minlessika.accounting.chart";
+
+    /**
+     * Scope of metrics, to tell apart several registries.
+     */
+    private final String scope;
+
+    /**
+     * MBean server.
+     */
+    private final MBeanServer server;
+
+    /**
+     * Metrics by method.
+     */
+    private final Map<String, MethodMetrics> methods;
+
+    /**
+     * Ctor.
+     * @param scope Scope of metrics, to tell apart several registries
+     */
+    public JmxMetrics(final String scope) {
+        this(scope, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Ctor.
+     * @param scope Scope of metrics, to tell apart several registries
+     * @param server MBean server
+     */
+    public JmxMetrics(final String scope, final MBeanServer server) {
+        this.scope = scope;
+        this.server = server;
+        this.methods = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void record(final String method, final long nanos,
+        final long statements, final boolean failed) {
+        this.method(method).record(nanos, statements, failed);
+    }
+
+    /**
+     * Metrics of a method.
+     * @param method Method name, like {@code Charts.get}
+     * @return Metrics
+     */
+    public MethodMetrics method(final String method) {
+        return this.methods.computeIfAbsent(method, this::register);
+    }
+
+    /**
+     * Create and register metrics of a method.
+     * @param method Method name
+     * @return Metrics
+     */
+    private MethodMetrics register(final String method) {
+        final MethodMetrics metrics = new MethodMetrics();
+        try {
+            final ObjectName name = new ObjectName(
+                String.format(
+                    "%s:type=%s,name=%s",
+                    JmxMetrics.DOMAIN,
+                    ObjectName.quote(this.scope),
+                    ObjectName.quote(method)
+                )
+            );
+            if (this.server.isRegistered(name)) {
+                this.server.unregisterMBean(name);
+            }
+            this.server.registerMBean(metrics, name);
+        } catch (final JMException ex) {
+            throw new IllegalStateException(
+                String.format("Can't register metrics of %s in JMX.", method),
+                ex
+            );
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.Accounts;
+import java.util.function.LongSupplier;
+
+/**
+ * Accounts whose calls are measured.
+ *
+ * <p>Methods are recorded as {@code Accounts.<method>}. Both paged
+ * iterations are recorded as {@code Accounts.page}.
+ *
+ * @since 1.0.0
+ */
+public final class MeteredAccounts implements Accounts {
+
+    /**
+     * Origin.
+     */
+    private final Accounts origin;
+
+    /**
+     * Probe.
+     */
+    private final Probe probe;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     */
+    public MeteredAccounts(final Accounts origin, final Metrics metrics) {
+        this(origin, metrics, () -> 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     * @param statements Number of SQL statements executed so far by
+     *  current thread, like {@link CountingDataSource#statements()}
+     */
+    public MeteredAccounts(final Accounts origin, final Metrics metrics,
+        final LongSupplier statements) {
+        this.origin = origin;
+        this.probe = new Probe(metrics, statements);
+    }
+
+    @Override
+    public Iterable<Account> iterate() {
+        return this.probe.call("Accounts.iterate", this.origin::iterate);
+    }
+
+    @Override
+    public Iterable<Account> iterate(final int start, final int limit,
+        final String filter) {
+        return this.probe.call(
+            "Accounts.page",
+            () -> this.origin.iterate(start, limit, filter)
+        );
+    }
+
+    @Override
+    public Iterable<Account> iterate(final String after, final int limit,
+        final String filter) {
+        return this.probe.call(
+            "Accounts.page",
+            () -> this.origin.iterate(after, limit, filter)
+        );
+    }
+
+    @Override
+    public Iterable<Account> prefixed(final String prefix) {
+        return this.probe.call(
+            "Accounts.prefixed",
+            () -> this.origin.prefixed(prefix)
+        );
+    }
+
+    @Override
+    public int size() {
+        return this.probe.call("Accounts.size", this.origin::size);
+    }
+
+    @Override
+    public boolean contains(final String code) {
+        return this.probe.call(
+            "Accounts.contains",
+            () -> this.origin.contains(code)
+        );
+    }
+
+    @Override
+    public Account get(final String code) {
+        return this.probe.call("Accounts.get", () -> this.origin.get(code));
+    }
+
+    @Override
+    public void add(final String code, final String name) {
+        this.probe.run("Accounts.add", () -> this.origin.add(code, name));
+    }
+
+    @Override
+    public void remove(final String code) {
+        this.probe.run("Accounts.remove", () -> this.origin.remove(code));
+    }
+}
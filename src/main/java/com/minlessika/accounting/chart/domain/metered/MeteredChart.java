@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import java.util.function.LongSupplier;
+
+/**
+ * Chart whose calls are measured.
+ *
+ * <p>Methods are recorded as {@code Chart.<method>}.
+ *
+ * @since 1.0.0
+ */
+public final class MeteredChart implements Chart {
+
+    /**
+     * Origin.
+     */
+    private final Chart origin;
+
+    /**
+     * Probe.
+     */
+    private final Probe probe;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     */
+    public MeteredChart(final Chart origin, final Metrics metrics) {
+        this(origin, metrics, () -> 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     * @param statements Number of SQL statements executed so far by
+     *  current thread, like {@link CountingDataSource#statements()}
+     */
+    public MeteredChart(final Chart origin, final Metrics metrics,
+        final LongSupplier statements) {
+        this.origin = origin;
+        this.probe = new Probe(metrics, statements);
+    }
+
+    @Override
+    public Long number() {
+        return this.origin.number();
+    }
+
+    @Override
+    public String name() {
+        return this.probe.call("Chart.name", this.origin::name);
+    }
+
+    @Override
+    public ChartType type() {
+        return this.probe.call("Chart.type", this.origin::type);
+    }
+
+    @Override
+    public String version() {
+        return this.probe.call("Chart.version", this.origin::version);
+    }
+
+    @Override
+    public ChartState state() {
+        return this.probe.call("Chart.state", this.origin::state);
+    }
+
+    @Override
+    public void activate(final boolean enable) {
+        this.probe.run("Chart.activate", () -> this.origin.activate(enable));
+    }
+
+    @Override
+    public String toString() {
+        return this.origin.toString();
+    }
+}
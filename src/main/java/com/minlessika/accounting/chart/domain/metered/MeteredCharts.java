@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Charts whose calls are measured.
+ *
+ * <p>Methods are recorded as {@code Charts.<method>}, and charts returned
+ * are {@link MeteredChart}.
+ *
+ * @since 1.0.0
+ */
+public final class MeteredCharts implements Charts {
+
+    /**
+     * Origin.
+     */
+    private final Charts origin;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Number of SQL statements executed so far by current thread.
+     */
+    private final LongSupplier statements;
+
+    /**
+     * Probe.
+     */
+    private final Probe probe;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     */
+    public MeteredCharts(final Charts origin, final Metrics metrics) {
+        this(origin, metrics, () -> 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     * @param metrics Metrics
+     * @param statements Number of SQL statements executed so far by
+     *  current thread, like {@link CountingDataSource#statements()}
+     */
+    public MeteredCharts(final Charts origin, final Metrics metrics,
+        final LongSupplier statements) {
+        this.origin = origin;
+        this.metrics = metrics;
+        this.statements = statements;
+        this.probe = new Probe(metrics, statements);
+    }
+
+    @Override
+    public Iterable<Chart> iterate() {
+        return this.probe.call(
+            "Charts.iterate",
+            () -> {
+                final List<Chart> charts = new ArrayList<>(0);
+                for (final Chart chart : this.origin.iterate()) {
+                    charts.add(this.metered(chart));
+                }
+                return charts;
+            }
+        );
+    }
+
+    @Override
+    public Long size() {
+        return this.probe.call("Charts.size", this.origin::size);
+    }
+
+    @Override
+    public Chart get(final Long number) {
+        return this.metered(
+            this.probe.call("Charts.get", () -> this.origin.get(number))
+        );
+    }
+
+    @Override
+    public Chart add(final ChartType type, final String version) {
+        return this.metered(
+            this.probe.call("Charts.add", () -> this.origin.add(type, version))
+        );
+    }
+
+    @Override
+    public void remove(final Long id) {
+        this.probe.run("Charts.remove", () -> this.origin.remove(id));
+    }
+
+    /**
+     * Measure a chart.
+     * @param chart Chart
+     * @return Metered chart
+     */
+    private Chart metered(final Chart chart) {
+        return new MeteredChart(chart, this.metrics, this.statements);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a method.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (100 lines)
+ */
+public final class MethodMetrics implements MethodMetricsMXBean {
+
+    /**
+     * Latencies.
+     */
+    private final Histogram latencies;
+
+    /**
+     * Errors.
+     */
+    private final LongAdder errors;
+
+    /**
+     * SQL statements.
+     */
+    private final LongAdder statements;
+
+    /**
+     * Ctor.
+     */
+    public MethodMetrics() {
+        this.latencies = new Histogram();
+        this.errors = new LongAdder();
+        this.statements = new LongAdder();
+    }
+
+    /**
+     * Record a call.
+     * @param nanos Duration in nanoseconds
+     * @param sql Number of SQL statements executed
+     * @param failed Has call thrown an exception
+     */
+    public void record(final long nanos, final long sql,
+        final boolean failed) {
+        this.latencies.record(nanos);
+        this.statements.add(sql);
+        if (failed) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * Latencies.
+     * @return Histogram
+     */
+    public Histogram latencies() {
+        return this.latencies;
+    }
+
+    @Override
+    public long getCalls() {
+        return this.latencies.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public long getStatements() {
+        return this.statements.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return this.latencies.mean(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getP50Millis() {
+        return this.latencies.percentile(0.5, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return this.latencies.percentile(0.95, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return this.latencies.percentile(0.99, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return this.latencies.max(TimeUnit.MILLISECONDS);
+    }
+}
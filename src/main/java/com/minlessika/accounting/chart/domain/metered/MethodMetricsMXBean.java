@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+/**
+ * JMX view of metrics of a method.
+ * @since 1.0.0
+ */
+public interface MethodMetricsMXBean {
+
+    /**
+     * Number of calls.
+     * @return Calls
+     */
+    long getCalls();
+
+    /**
+     * Number of calls that have thrown an exception.
+     * @return Errors
+     */
+    long getErrors();
+
+    /**
+     * Number of SQL statements executed by all calls.
+     * @return Statements
+     */
+    long getStatements();
+
+    /**
+     * Mean latency in milliseconds.
+     * @return Mean
+     */
+    double getMeanMillis();
+
+    /**
+     * Median latency in milliseconds.
+     * @return Median
+     */
+    double getP50Millis();
+
+    /**
+     * 95th percentile of latency in milliseconds.
+     * @return Percentile
+     */
+    double getP95Millis();
+
+    /**
+     * 99th percentile of latency in milliseconds.
+     * @return Percentile
+     */
+    double getP99Millis();
+
+    /**
+     * Max latency in milliseconds.
+     * @return Max
+     */
+    double getMaxMillis();
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Probe that measures calls and records them in metrics.
+ * @since 1.0.0
+ */
+final class Probe {
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Number of SQL statements executed so far by current thread.
+     */
+    private final LongSupplier statements;
+
+    /**
+     * Ctor.
+     * @param metrics Metrics
+     * @param statements Number of SQL statements executed so far by
+     *  current thread
+     */
+    Probe(final Metrics metrics, final LongSupplier statements) {
+        this.metrics = metrics;
+        this.statements = statements;
+    }
+
+    /**
+     * Measure a call returning a value.
+     * @param method Method name
+     * @param call Call
+     * @param <T> Type of value
+     * @return Value
+     */
+    public <T> T call(final String method, final Supplier<T> call) {
+        final long sql = this.statements.getAsLong();
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            this.metrics.record(
+                method,
+                System.nanoTime() - start,
+                this.statements.getAsLong() - sql,
+                failed
+            );
+        }
+    }
+
+    /**
+     * Measure a call returning nothing.
+     * @param method Method name
+     * @param call Call
+     */
+    public void run(final String method, final Runnable call) {
+        this.call(
+            method,
+            () -> {
+                call.run();
+                return Boolean.TRUE;
+            }
+        );
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered input of a chart export.
+ *
+ * <p>It reads what {@link ChartOutput} writes.
+ *
+ * @since 1.0.0
+ */
+final class ChartInput {
+
+    /**
+     * Channel.
+     */
+    private final ReadableByteChannel channel;
+
+    /**
+     * Buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Ctor.
+     * @param channel Channel
+     */
+    ChartInput(final ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(65_536);
+        this.buffer.flip();
+    }
+
+    /**
+     * Read an integer.
+     * @return Value
+     */
+    public int integer() {
+        this.require(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    /**
+     * Read a byte.
+     * @return Value
+     */
+    public int octet() {
+        this.require(1);
+        return this.buffer.get();
+    }
+
+    /**
+     * Read a text.
+     * @return Value
+     */
+    public String text() {
+        this.require(Short.BYTES);
+        final byte[] bytes = new byte[this.buffer.getShort() & 0xFFFF];
+        this.require(bytes.length);
+        this.buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Make sure enough bytes are buffered.
+     * @param size Number of bytes needed
+     */
+    private void require(final int size) {
+        if (this.buffer.remaining() < size) {
+            this.buffer.compact();
+            try {
+                while (this.buffer.position() < size) {
+                    if (this.channel.read(this.buffer) < 0) {
+                        throw new IllegalArgumentException(
+                            "Chart export is truncated !"
+                        );
+                    }
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                this.buffer.flip();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered output of a chart export.
+ *
+ * <p>Integers are big-endian, texts are UTF-8 prefixed by their length
+ * in bytes on two bytes.
+ *
+ * @since 1.0.0
+ */
+final class ChartOutput {
+
+    /**
+     * Channel.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Ctor.
+     * @param channel Channel
+     */
+    ChartOutput(final WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(65_536);
+    }
+
+    /**
+     * Write an integer.
+     * @param value Value
+     * @return This output
+     */
+    public ChartOutput integer(final int value) {
+        this.reserve(Integer.BYTES);
+        this.buffer.putInt(value);
+        return this;
+    }
+
+    /**
+     * Write a byte.
+     * @param value Value
+     * @return This output
+     */
+    public ChartOutput octet(final int value) {
+        this.reserve(1);
+        this.buffer.put((byte) value);
+        return this;
+    }
+
+    /**
+     * Write a text.
+     * @param value Value
+     * @return This output
+     */
+    public ChartOutput text(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                String.format("Text too long to export : %s", value)
+            );
+        }
+        this.reserve(Short.BYTES + bytes.length);
+        this.buffer.putShort((short) bytes.length);
+        this.buffer.put(bytes);
+        return this;
+    }
+
+    /**
+     * Write buffered bytes to channel.
+     */
+    public void flush() {
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Make room in buffer.
+     * @param size Number of bytes needed
+     */
+    private void reserve(final int size) {
+        if (this.buffer.remaining() < size) {
+            this.flush();
+        }
+    }
+}
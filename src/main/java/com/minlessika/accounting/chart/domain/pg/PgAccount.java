@@ -0,0 +1,317 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * PostgreSQL Account.
+ * @since 1.0.0
+ */
+public final class PgAccount implements Account {
+
+    /**
+     * SQL state of a unique violation.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Key of the row.
+     */
+    private final PgKey key;
+
+    /**
+     * DataSource.
+     */
+    private final DataSource source;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param id Unique identifier
+     */
+    public PgAccount(final DataSource source, final Long id) {
+        this(source, new PgKey(id));
+    }
+
+    /**
+     * Ctor.
+     * <p>Queries only read the partition of the entity.
+     * @param source Data source
+     * @param entity Entity ID
+     * @param id Unique identifier
+     */
+    public PgAccount(final DataSource source, final Long entity,
+        final Long id) {
+        this(source, new PgKey(entity, id));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param key Key of the row
+     */
+    private PgAccount(final DataSource source, final PgKey key) {
+        this.source = source;
+        this.key = key;
+    }
+
+    @Override
+    public String code() {
+        return this.column("code", String.class);
+    }
+
+    @Override
+    public String name() {
+        return this.column("name", String.class);
+    }
+
+    @Override
+    public boolean isReconciliationAllowed() {
+        return this.column("reconciliation_allowed", Boolean.class);
+    }
+
+    @Override
+    public boolean isDeprecated() {
+        return this.column("deprecated", Boolean.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Uniqueness of code is left to the (chart_id, code) unique index,
+     * whose violation is reported as an existing code.
+     */
+    @Override
+    public void update(final String code, final String name) {
+        try {
+            this.key.bound(
+                new JdbcSession(this.source)
+                    .sql(this.query("UPDATE accounting_account SET code=?, name=?"))
+                    .set(code)
+                    .set(name)
+            ).execute();
+        } catch (final SQLException ex) {
+            if (PgAccount.conflicts(ex)) {
+                throw new IllegalArgumentException(
+                    String.format("Account with code=%s already exists !", code),
+                    ex
+                );
+            }
+            throw new DatabaseException(
+                String.format("Error on PgAccount (%s) while updating.", this.key),
+                ex
+            );
+        }
+    }
+
+    @Override
+    public void depreciate(final boolean enable) {
+        this.change("deprecated", enable);
+    }
+
+    @Override
+    public void allowReconciliation(final boolean enable) {
+        this.change("reconciliation_allowed", enable);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Uniqueness of code is left to the (chart_id, code) unique index:
+     * a conflicting insert does nothing, so that concurrent clones don't
+     * need any lock. Nothing inserted may also mean this account doesn't
+     * exist, which {@link #snapshot()} reports.
+     */
+    @Override
+    public void clone(final String code, final String name) {
+        final Long clone;
+        try {
+            clone = this.key.bound(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "INSERT INTO accounting_account",
+                            "(entity_id, chart_id, code, name,",
+                            "reconciliation_allowed, deprecated)",
+                            this.query(
+                                String.join(
+                                    " ",
+                                    "SELECT entity_id, chart_id, ?, ?,",
+                                    "reconciliation_allowed, deprecated",
+                                    "FROM accounting_account"
+                                )
+                            ),
+                            "ON CONFLICT DO NOTHING RETURNING id"
+                        )
+                    )
+                    .set(code)
+                    .set(name)
+            ).select(new SingleOutcome<>(Long.class, true));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format("Error on PgAccount (%s) while cloning.", this.key),
+                ex
+            );
+        }
+        if (clone == null) {
+            this.snapshot();
+            throw new IllegalArgumentException(
+                String.format("Account with code=%s already exists !", code)
+            );
+        }
+    }
+
+    /**
+     * Read the whole row at once.
+     * @return Snapshot of the account
+     * @throws IllegalArgumentException If not found
+     */
+    public PgAccountSnapshot snapshot() {
+        try {
+            final List<PgAccountSnapshot> rows =
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(
+                            this.query(
+                                String.join(
+                                    " ",
+                                    "SELECT id, code, name, reconciliation_allowed,",
+                                    "deprecated FROM accounting_account"
+                                )
+                            )
+                        )
+                ).select(new ListOutcome<>(new PgAccountMapping(id -> this)));
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException(
+                    String.format("Account with ID=%s not found !", this.key.id())
+                );
+            }
+            return rows.get(0);
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format("Error on PgAccount (%s) while loading.", this.key),
+                ex
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PostgreSQL Account with ID %s", this.key.id());
+    }
+
+    /**
+     * Read a column.
+     * @param name Column name
+     * @param type Column type
+     * @param <T> Type of value
+     * @return Value
+     */
+    private <T> T column(final String name, final Class<T> type) {
+        try {
+            return
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(
+                            this.query(
+                                String.format("SELECT %s FROM accounting_account", name)
+                            )
+                        )
+                ).select(new SingleOutcome<>(type));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccount (%s) while getting %s.",
+                    this.key,
+                    name
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Query restricted to the row.
+     * @param statement Statement without condition
+     * @return Query
+     */
+    private String query(final String statement) {
+        return String.format("%s WHERE %s", statement, this.key.condition());
+    }
+
+    /**
+     * Change a flag.
+     * @param name Column name
+     * @param enable Value
+     */
+    private void change(final String name, final boolean enable) {
+        try {
+            this.key.bound(
+                new JdbcSession(this.source)
+                    .sql(
+                        this.query(
+                            String.format("UPDATE accounting_account SET %s=?", name)
+                        )
+                    )
+                    .set(enable)
+            ).execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccount (%s) while changing %s.",
+                    this.key,
+                    name
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Is a violation of a unique index.
+     * <p>Driver error may be wrapped, so its causes are looked up too.
+     * @param error Error
+     * @return Yes or no
+     */
+    private static boolean conflicts(final SQLException error) {
+        boolean conflicts = false;
+        Throwable cause = error;
+        while (cause != null && !conflicts) {
+            conflicts = cause instanceof SQLException
+                && PgAccount.UNIQUE_VIOLATION.equals(
+                    ((SQLException) cause).getSQLState()
+                );
+            cause = cause.getCause();
+        }
+        return conflicts;
+    }
+}
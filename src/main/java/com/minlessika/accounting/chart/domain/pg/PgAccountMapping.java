@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.ListOutcome;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.LongFunction;
+import javax.sql.DataSource;
+
+/**
+ * Mapping of an {@code accounting_account} row to a
+ * {@link PgAccountSnapshot}.
+ *
+ * <p>The result set must contain columns id, code, name,
+ * reconciliation_allowed and deprecated. Snapshots write to and read
+ * again the account given for their ID.
+ *
+ * @since 1.0.0
+ */
+final class PgAccountMapping implements ListOutcome.Mapping<PgAccountSnapshot> {
+
+    /**
+     * Account by its ID.
+     */
+    private final LongFunction<PgAccount> origins;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    PgAccountMapping(final DataSource source) {
+        this(id -> new PgAccount(source, id));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param entity Entity ID
+     */
+    PgAccountMapping(final DataSource source, final Long entity) {
+        this(id -> new PgAccount(source, entity, id));
+    }
+
+    /**
+     * Ctor.
+     * @param origins Account by its ID
+     */
+    PgAccountMapping(final LongFunction<PgAccount> origins) {
+        this.origins = origins;
+    }
+
+    @Override
+    public PgAccountSnapshot map(final ResultSet rset) throws SQLException {
+        final long id = rset.getLong("id");
+        return new PgAccountSnapshot(
+            this.origins.apply(id),
+            id,
+            rset.getString("code"),
+            rset.getString("name"),
+            rset.getBoolean("reconciliation_allowed"),
+            rset.getBoolean("deprecated")
+        );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import javax.sql.DataSource;
+
+/**
+ * PostgreSQL Account snapshot.
+ *
+ * <p>It holds a whole row of {@code accounting_account} read at once, so
+ * its accessors never go to the database. Writes are sent to the
+ * database but the snapshot itself is immutable: use {@link #refresh()}
+ * to read the row again.
+ *
+ * @since 1.0.0
+ */
+public final class PgAccountSnapshot implements Account {
+
+    /**
+     * Account in database.
+     */
+    private final PgAccount origin;
+
+    /**
+     * Unique identifier.
+     */
+    private final Long id;
+
+    /**
+     * Code.
+     */
+    private final String number;
+
+    /**
+     * Name.
+     */
+    private final String label;
+
+    /**
+     * Is reconciliation allowed.
+     */
+    private final boolean reconciliation;
+
+    /**
+     * Is deprecated.
+     */
+    private final boolean deprecated;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param id Unique identifier
+     * @param code Code
+     * @param name Name
+     * @param reconciliation Is reconciliation allowed
+     * @param deprecated Is deprecated
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PgAccountSnapshot(final DataSource source, final Long id,
+        final String code, final String name, final boolean reconciliation,
+        final boolean deprecated) {
+        this(new PgAccount(source, id), id, code, name, reconciliation, deprecated);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Account in database
+     * @param id Unique identifier
+     * @param code Code
+     * @param name Name
+     * @param reconciliation Is reconciliation allowed
+     * @param deprecated Is deprecated
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    PgAccountSnapshot(final PgAccount origin, final Long id,
+        final String code, final String name, final boolean reconciliation,
+        final boolean deprecated) {
+        this.origin = origin;
+        this.id = id;
+        this.number = code;
+        this.label = name;
+        this.reconciliation = reconciliation;
+        this.deprecated = deprecated;
+    }
+
+    @Override
+    public String code() {
+        return this.number;
+    }
+
+    @Override
+    public String name() {
+        return this.label;
+    }
+
+    @Override
+    public boolean isReconciliationAllowed() {
+        return this.reconciliation;
+    }
+
+    @Override
+    public boolean isDeprecated() {
+        return this.deprecated;
+    }
+
+    @Override
+    public void update(final String code, final String name) {
+        this.origin.update(code, name);
+    }
+
+    @Override
+    public void depreciate(final boolean enable) {
+        this.origin.depreciate(enable);
+    }
+
+    @Override
+    public void allowReconciliation(final boolean enable) {
+        this.origin.allowReconciliation(enable);
+    }
+
+    @Override
+    public void clone(final String code, final String name) {
+        this.origin.clone(code, name);
+    }
+
+    /**
+     * Read the row again.
+     * @return Fresh snapshot
+     */
+    public PgAccountSnapshot refresh() {
+        return this.origin.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PostgreSQL Account snapshot with ID %s", this.id);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.AccountTree;
+import java.util.Collections;
+import java.util.Iterator;
+import javax.sql.DataSource;
+
+/**
+ * Accounts of a chart from PostgreSQL seen as a tree.
+ *
+ * <p>Accounts under a code share it as prefix, so they are found by a
+ * range scan of the (chart_id, code) index (see
+ * {@link PgAccounts#prefixed(String)}). Only the subtree is read, never
+ * the whole chart. Children are the accounts of that range with no
+ * account in between: each one is kept if none of its prefixes longer
+ * than the code exists, which is one lookup of the index per account of
+ * the range, so only children are returned by the server. The lookup
+ * is fenced by {@code OFFSET 0}: otherwise, the planner may turn it
+ * into an anti join hashing the whole chart.
+ * Accounts above a code are found by looking up its prefixes.
+ *
+ * @since 1.0.0
+ */
+public final class PgAccountTree implements AccountTree {
+
+    /**
+     * Accounts.
+     */
+    private final PgAccounts accounts;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param chart Chart ID
+     */
+    public PgAccountTree(final DataSource source, final Long chart) {
+        this(new PgAccounts(source, chart));
+    }
+
+    /**
+     * Ctor.
+     * <p>Queries only read the partition of the entity.
+     * @param source Data source
+     * @param entity Entity ID
+     * @param chart Chart ID
+     */
+    public PgAccountTree(final DataSource source, final Long entity,
+        final Long chart) {
+        this(new PgAccounts(source, entity, chart));
+    }
+
+    /**
+     * Ctor.
+     * @param accounts Accounts
+     */
+    private PgAccountTree(final PgAccounts accounts) {
+        this.accounts = accounts;
+    }
+
+    @Override
+    public Account parent(final String code) {
+        final Iterator<Account> parent =
+            this.above(code, "ORDER BY code DESC LIMIT 1").iterator();
+        if (!parent.hasNext()) {
+            throw new IllegalArgumentException(
+                String.format("Account with code=%s has no parent !", code)
+            );
+        }
+        return parent.next();
+    }
+
+    @Override
+    public Iterable<Account> children(final String code) {
+        return this.accounts.prefixed(
+            code,
+            String.join(
+                " ",
+                "AND code <> ? AND NOT EXISTS (",
+                "SELECT 1 FROM accounting_account AS above",
+                "WHERE above.entity_id = accounting_account.entity_id",
+                "AND above.chart_id = accounting_account.chart_id",
+                "AND above.code = ANY (ARRAY(",
+                "SELECT left(accounting_account.code, n)",
+                "FROM generate_series(?, length(accounting_account.code) - 1) AS n",
+                ")) OFFSET 0)"
+            ),
+            code,
+            code.length() + 1
+        );
+    }
+
+    @Override
+    public Iterable<Account> descendants(final String code) {
+        return this.accounts.prefixed(code, "AND code <> ?", code);
+    }
+
+    @Override
+    public Iterable<Account> ancestors(final String code) {
+        return this.above(code, "ORDER BY code ASC");
+    }
+
+    /**
+     * Accounts whose codes are proper prefixes of a code.
+     * @param code Code
+     * @param order Order and limit clause
+     * @return Accounts
+     */
+    private Iterable<Account> above(final String code, final String order) {
+        final Iterable<Account> above;
+        if (code.length() < 2) {
+            above = Collections.emptyList();
+        } else {
+            final Object[] prefixes = new Object[code.length() - 1];
+            for (int len = 1; len < code.length(); ++len) {
+                prefixes[len - 1] = code.substring(0, len);
+            }
+            above = this.accounts.select(
+                String.join(
+                    " ",
+                    "AND code IN (",
+                    String.join(
+                        ", ", Collections.nCopies(prefixes.length, "?")
+                    ),
+                    ")",
+                    order
+                ),
+                prefixes
+            );
+        }
+        return above;
+    }
+}
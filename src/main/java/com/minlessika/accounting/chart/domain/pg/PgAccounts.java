@@ -0,0 +1,468 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.Accounts;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.reactivestreams.Publisher;
+
+/**
+ * Accounts of a chart from PostgreSQL.
+ *
+ * <p>Accounts returned are already loaded (see {@link PgAccountSnapshot}).
+ * Filters match code prefix or a part of the name, whatever its case and
+ * accents. When built with the entity of the chart, queries only read the
+ * partition of the entity.
+ *
+ * @since 1.0.0
+ */
+public final class PgAccounts implements Accounts {
+
+    /**
+     * Columns of an account.
+     */
+    private static final String COLUMNS =
+        "id, code, name, reconciliation_allowed, deprecated";
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Rows of the accounts.
+     */
+    private final PgScope scope;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param chart Chart ID
+     */
+    public PgAccounts(final DataSource source, final Long chart) {
+        this(source, new PgScope(chart));
+    }
+
+    /**
+     * Ctor.
+     * <p>Queries only read the partition of the entity.
+     * @param source Data source
+     * @param entity Entity ID
+     * @param chart Chart ID
+     */
+    public PgAccounts(final DataSource source, final Long entity,
+        final Long chart) {
+        this(source, new PgScope(entity, chart));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param scope Rows of the accounts
+     */
+    private PgAccounts(final DataSource source, final PgScope scope) {
+        this.source = source;
+        this.scope = scope;
+    }
+
+    @Override
+    public Iterable<Account> iterate() {
+        return this.select("ORDER BY code ASC");
+    }
+
+    @Override
+    public Iterable<Account> iterate(final int start, final int limit,
+        final String filter) {
+        final List<Object> args = this.filtered(filter);
+        args.add(limit);
+        args.add(start);
+        return this.select(
+            String.join(
+                " ",
+                this.clause(filter),
+                "ORDER BY code ASC LIMIT ? OFFSET ?"
+            ),
+            args.toArray()
+        );
+    }
+
+    @Override
+    public Iterable<Account> iterate(final String after, final int limit,
+        final String filter) {
+        final List<Object> args = this.filtered(filter);
+        args.add(0, after);
+        args.add(limit);
+        return this.select(
+            String.join(
+                " ",
+                "AND code > ?",
+                this.clause(filter),
+                "ORDER BY code ASC LIMIT ?"
+            ),
+            args.toArray()
+        );
+    }
+
+    /**
+     * Iterate them all through a server-side cursor.
+     * <p>Ordered by code ascending. Only {@code fetch} rows are held in
+     * memory at a time.
+     * @param fetch Number of rows fetched per round trip
+     * @return All accounts
+     */
+    public PgCursor<PgAccountSnapshot> iterate(final int fetch) {
+        return new PgCursor<>(
+            this.source,
+            String.join(
+                " ",
+                "SELECT", PgAccounts.COLUMNS,
+                "FROM accounting_account WHERE", this.scope.condition(),
+                "ORDER BY code ASC"
+            ),
+            this.scope.mapping(this.source),
+            fetch,
+            this.scope.args()
+        );
+    }
+
+    /**
+     * Publish them all as the subscriber requests them.
+     * <p>Ordered by code ascending. Rows are read from a server-side
+     * cursor, {@code fetch} rows per round trip, on the thread that
+     * requests them.
+     * @param fetch Number of rows fetched per round trip
+     * @return Publisher of all accounts
+     */
+    public Publisher<PgAccountSnapshot> publisher(final int fetch) {
+        return new PgPublisher<>(this.iterate(fetch));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It is a range scan of the (chart_id, code) index:
+     * {@code code >= p AND code < next(p)}, where next(p) is the first
+     * code greater than every code starting with p.
+     */
+    @Override
+    public Iterable<Account> prefixed(final String prefix) {
+        return this.prefixed(prefix, "");
+    }
+
+    /**
+     * Accounts whose codes start with a prefix and that pass a filter.
+     * <p>Ordered by code ascending. The filter is applied to the rows of
+     * the range scan only.
+     * @param prefix Prefix
+     * @param filter SQL condition starting with AND, maybe empty
+     * @param args Arguments of the filter
+     * @return Accounts
+     */
+    Iterable<Account> prefixed(final String prefix, final String filter,
+        final Object... args) {
+        final String next = PgAccounts.next(prefix);
+        final List<Object> values = new ArrayList<>(args.length + 2);
+        values.add(prefix);
+        final String range;
+        if (next.isEmpty()) {
+            range = "AND code >= ?";
+        } else {
+            range = "AND code >= ? AND code < ?";
+            values.add(next);
+        }
+        values.addAll(Arrays.asList(args));
+        return this.select(
+            String.join(" ", range, filter, "ORDER BY code ASC"),
+            values.toArray()
+        );
+    }
+
+    /**
+     * Search accounts as the user types.
+     * <p>Accounts match if their code starts with the text, or if their
+     * name contains it or a word similar to it, whatever the case and
+     * accents. Code matches come first, then names ranked by word
+     * similarity, then by code. An empty text selects the first accounts
+     * by code.
+     * @param text Text typed
+     * @param limit Number of {@link Account} to select
+     * @return Accounts selected, best first
+     */
+    public Iterable<Account> search(final String text, final int limit) {
+        final Iterable<Account> found;
+        if (text.isEmpty()) {
+            found = this.select("ORDER BY code ASC LIMIT ?", limit);
+        } else {
+            final List<Object> args = this.filtered(text);
+            args.add(text);
+            args.add(args.get(0));
+            args.add(text);
+            args.add(limit);
+            found = this.select(
+                String.join(
+                    " ",
+                    "AND (code LIKE ?",
+                    "OR accounting_unaccent(name) ILIKE accounting_unaccent(?)",
+                    "OR accounting_unaccent(?) <% accounting_unaccent(name))",
+                    "ORDER BY code LIKE ? DESC,",
+                    "word_similarity(",
+                    "accounting_unaccent(?), accounting_unaccent(name)",
+                    ") DESC, code ASC LIMIT ?"
+                ),
+                args.toArray()
+            );
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It reads the counter of accounts of the chart, kept by triggers,
+     * instead of counting rows. Writers only add deltas to it, so they
+     * don't wait for each other.
+     */
+    @Override
+    public int size() {
+        try {
+            return this.scope.bound(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "SELECT COALESCE(SUM(size), 0)::bigint",
+                            "FROM accounting_counter WHERE kind='account' AND",
+                            this.scope.counter()
+                        )
+                    )
+            ).select(new SingleOutcome<>(Long.class)).intValue();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccounts (%s) while getting size.",
+                    this.scope
+                ),
+                ex
+            );
+        }
+    }
+
+    @Override
+    public boolean contains(final String code) {
+        return this.select("AND code=?", code).iterator().hasNext();
+    }
+
+    @Override
+    public Account get(final String code) {
+        final Iterator<Account> found =
+            this.select("AND code=?", code).iterator();
+        if (!found.hasNext()) {
+            throw new IllegalArgumentException(
+                String.format("Account with code=%s not found !", code)
+            );
+        }
+        return found.next();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Uniqueness of code is left to the (chart_id, code) unique index:
+     * a conflicting insert does nothing, so that concurrent adds don't
+     * need any lock.
+     */
+    @Override
+    public void add(final String code, final String name) {
+        final Long id;
+        try {
+            id = this.scope.owned(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "INSERT INTO accounting_account",
+                            "(entity_id, chart_id, code, name)",
+                            "VALUES (", this.scope.owner(), ", ?, ?, ?)",
+                            "ON CONFLICT DO NOTHING RETURNING id"
+                        )
+                    )
+            )
+                .set(this.scope.chart())
+                .set(code)
+                .set(name)
+                .select(new SingleOutcome<>(Long.class, true));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccounts (%s) while adding account %s.",
+                    this.scope,
+                    code
+                ),
+                ex
+            );
+        }
+        if (id == null) {
+            throw new IllegalArgumentException(
+                String.format("Account with code=%s already exists !", code)
+            );
+        }
+    }
+
+    @Override
+    public void remove(final String code) {
+        try {
+            this.scope.bound(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "DELETE FROM accounting_account WHERE",
+                            this.scope.condition(),
+                            "AND code=?"
+                        )
+                    )
+            )
+                .set(code)
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccounts (%s) while removing account %s.",
+                    this.scope,
+                    code
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Select accounts of the chart.
+     * @param clause Rest of the query after chart condition
+     * @param args Arguments of the clause
+     * @return Accounts
+     */
+    Iterable<Account> select(final String clause,
+        final Object... args) {
+        try {
+            final JdbcSession session = this.scope.bound(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "SELECT", PgAccounts.COLUMNS,
+                            "FROM accounting_account WHERE",
+                            this.scope.condition(),
+                            clause
+                        )
+                    )
+            );
+            for (final Object arg : args) {
+                session.set(arg);
+            }
+            return new ArrayList<Account>(
+                session.select(
+                    new ListOutcome<>(this.scope.mapping(this.source))
+                )
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgAccounts (%s) while selecting.",
+                    this.scope
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Filter condition.
+     * @param filter Filter on code or name
+     * @return SQL condition
+     */
+    private String clause(final String filter) {
+        final String cond;
+        if (filter.isEmpty()) {
+            cond = "";
+        } else {
+            cond = String.join(
+                " ",
+                "AND (code LIKE ?",
+                "OR accounting_unaccent(name) ILIKE accounting_unaccent(?))"
+            );
+        }
+        return cond;
+    }
+
+    /**
+     * Filter arguments.
+     * @param filter Filter on code or name
+     * @return Arguments of filter condition
+     */
+    private List<Object> filtered(final String filter) {
+        final Collection<Object> args;
+        if (filter.isEmpty()) {
+            args = new ArrayList<>(0);
+        } else {
+            final String escaped = filter
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+            args = Arrays.asList(
+                String.format("%s%%", escaped),
+                String.format("%%%s%%", escaped)
+            );
+        }
+        return new LinkedList<>(args);
+    }
+
+    /**
+     * First code greater than every code starting with a prefix.
+     * @param prefix Prefix
+     * @return Code, empty if there is none
+     */
+    private static String next(final String prefix) {
+        final StringBuilder next = new StringBuilder(prefix);
+        while (next.length() > 0
+            && next.charAt(next.length() - 1) == Character.MAX_VALUE) {
+            next.setLength(next.length() - 1);
+        }
+        if (next.length() > 0) {
+            final int last = next.length() - 1;
+            next.setCharAt(last, (char) (next.charAt(last) + 1));
+        }
+        return next.toString();
+    }
+}
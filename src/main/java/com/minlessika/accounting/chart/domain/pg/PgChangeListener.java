@@ -0,0 +1,266 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Listener of PostgreSQL notifications about changed rows.
+ *
+ * <p>It holds a dedicated connection that listens on a channel whose
+ * payload is the ID of a changed row, like channel
+ * {@code accounting_chart_changes} fed by trigger on
+ * {@code accounting_chart}. Each ID received is given to an action,
+ * typically {@code cache::invalidate}. Each time listening (re)starts,
+ * notifications may have been missed, so a reset action is run,
+ * typically {@code cache::invalidateAll}.
+ *
+ * <p>The listener outlives failures: a payload that isn't an ID is
+ * logged and skipped, and a failure of an action, like a failure of the
+ * connection, is logged before the reset action is run and listening
+ * restarts on a new connection.
+ *
+ * <p>Data source must give connections that unwrap to
+ * {@link PGConnection}.
+ *
+ * @since 1.0.0
+ */
+public final class PgChangeListener implements AutoCloseable {
+
+    /**
+     * Channel of chart changes.
+     */
+    public static final String CHARTS = "accounting_chart_changes";
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER =
+        Logger.getLogger(PgChangeListener.class.getName());
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Channel.
+     */
+    private final String channel;
+
+    /**
+     * Action on changed ID.
+     */
+    private final Consumer<Long> changed;
+
+    /**
+     * Action when notifications may have been missed.
+     */
+    private final Runnable reset;
+
+    /**
+     * Polling timeout in milliseconds.
+     */
+    private final int timeout;
+
+    /**
+     * Is listening.
+     */
+    private final AtomicBoolean running;
+
+    /**
+     * Listening thread.
+     */
+    private final Thread thread;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param changed Action on changed chart ID
+     * @param reset Action when notifications may have been missed
+     */
+    public PgChangeListener(final DataSource source,
+        final Consumer<Long> changed, final Runnable reset) {
+        this(source, PgChangeListener.CHARTS, changed, reset, 500);
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param channel Channel
+     * @param changed Action on changed ID
+     * @param reset Action when notifications may have been missed
+     * @param timeout Polling timeout in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PgChangeListener(final DataSource source, final String channel,
+        final Consumer<Long> changed, final Runnable reset,
+        final int timeout) {
+        this.source = source;
+        this.channel = channel;
+        this.changed = changed;
+        this.reset = reset;
+        this.timeout = timeout;
+        this.running = new AtomicBoolean();
+        this.thread = new Thread(this::listen, String.format("pg-%s", channel));
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start listening.
+     * <p>A listener can only be started once.
+     * @return This listener
+     */
+    public PgChangeListener start() {
+        if (this.running.compareAndSet(false, true)) {
+            this.thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It waits for the listening thread to stop. If interrupted
+     * meanwhile, it stops waiting and keeps the thread interrupted.
+     */
+    @Override
+    public void close() {
+        if (this.running.compareAndSet(true, false)) {
+            this.thread.interrupt();
+            try {
+                this.thread.join(TimeUnit.SECONDS.toMillis(10L));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Listen until closed, reconnecting on failure.
+     */
+    private void listen() {
+        while (this.running.get()) {
+            try (
+                Connection connection = this.source.getConnection();
+                Statement stmt = connection.createStatement()
+            ) {
+                connection.setAutoCommit(true);
+                stmt.execute(String.format("LISTEN %s", this.channel));
+                this.reset.run();
+                final PGConnection pgc = connection.unwrap(PGConnection.class);
+                while (this.running.get()) {
+                    this.dispatch(pgc.getNotifications(this.timeout));
+                }
+            } catch (final SQLException | RuntimeException ex) {
+                PgChangeListener.LOGGER.log(
+                    Level.WARNING,
+                    String.format(
+                        "Listening on channel %s failed, restarting.",
+                        this.channel
+                    ),
+                    ex
+                );
+                this.restart();
+            }
+        }
+    }
+
+    /**
+     * Run reset action and wait before listening again.
+     */
+    private void restart() {
+        try {
+            this.reset.run();
+        } catch (final RuntimeException ex) {
+            PgChangeListener.LOGGER.log(
+                Level.WARNING,
+                String.format("Reset on channel %s failed.", this.channel),
+                ex
+            );
+        }
+        this.pause();
+    }
+
+    /**
+     * Give changed IDs to action.
+     * @param notifications Notifications received, maybe null
+     */
+    private void dispatch(final PGNotification[] notifications) {
+        if (notifications != null) {
+            for (final PGNotification notification : notifications) {
+                if (this.channel.equals(notification.getName())) {
+                    this.changed(notification.getParameter());
+                }
+            }
+        }
+    }
+
+    /**
+     * Give a changed ID to action.
+     * <p>A payload that isn't an ID is logged and skipped.
+     * @param payload Payload of notification
+     */
+    private void changed(final String payload) {
+        Long id = null;
+        try {
+            id = Long.valueOf(payload);
+        } catch (final NumberFormatException ex) {
+            PgChangeListener.LOGGER.log(
+                Level.WARNING,
+                String.format(
+                    "Skipped payload '%s' on channel %s, not an ID.",
+                    payload,
+                    this.channel
+                ),
+                ex
+            );
+        }
+        if (id != null) {
+            this.changed.accept(id);
+        }
+    }
+
+    /**
+     * Wait before reconnecting.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(this.timeout);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.running.set(false);
+        }
+    }
+}
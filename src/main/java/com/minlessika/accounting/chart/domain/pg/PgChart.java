@@ -25,24 +25,26 @@
 package com.minlessika.accounting.chart.domain.pg;
 
 import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
 import com.jcabi.jdbc.SingleOutcome;
 import com.minlessika.accounting.chart.domain.api.Chart;
 import com.minlessika.accounting.chart.domain.api.ChartState;
 import com.minlessika.accounting.chart.domain.api.ChartType;
 import com.minlessika.exceptions.DatabaseException;
 import java.sql.SQLException;
+import java.util.List;
 import javax.sql.DataSource;
 
 /**
  * PostgreSQL Chart.
  * @since 1.0.0
  */
-public final class PgChart implements Chart {
+public final class PgChart implements Chart, PgChartOrigin {
 
     /**
-     * Unique identifier.
+     * Key of the row.
      */
-    private final Long id;
+    private final PgKey key;
 
     /**
      * DataSource.
@@ -55,36 +57,53 @@ public final class PgChart implements Chart {
      * @param number Number
      */
     public PgChart(final DataSource source, final Long number) {
+        this(source, new PgKey(number));
+    }
+
+    /**
+     * Ctor.
+     * <p>Queries only read the partition of the entity.
+     * @param source Data source
+     * @param entity Entity ID
+     * @param number Number
+     */
+    public PgChart(final DataSource source, final Long entity,
+        final Long number) {
+        this(source, new PgKey(entity, number));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param key Key of the row
+     */
+    private PgChart(final DataSource source, final PgKey key) {
         this.source = source;
-        this.id = number;
+        this.key = key;
     }
 
     @Override
     public Long number() {
-        return this.id;
+        return this.key.id();
     }
 
     @Override
     public String name() {
-        return String.format(
-            "Plan comptable %s révisé version %s",
-            this.type().toString(),
-            this.version()
-        );
+        return this.snapshot().name();
     }
 
     @Override
     public ChartType type() {
         try {
             final String type =
-                new JdbcSession(this.source)
-                    .sql("SELECT type FROM accounting_chart WHERE id=?")
-                    .set(this.id)
-                    .select(new SingleOutcome<>(String.class));
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(this.query("SELECT type FROM accounting_chart"))
+                ).select(new SingleOutcome<>(String.class));
             return ChartType.valueOf(type);
         } catch (final SQLException ex) {
             throw new DatabaseException(
-                String.format("Error on PgChart (ID : %s) while getting type.", this.id),
+                String.format("Error on PgChart (%s) while getting type.", this.key),
                 ex
             );
         }
@@ -94,13 +113,13 @@ public final class PgChart implements Chart {
     public String version() {
         try {
             return
-                new JdbcSession(this.source)
-                    .sql("SELECT version FROM accounting_chart WHERE id=?")
-                    .set(this.id)
-                    .select(new SingleOutcome<>(String.class));
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(this.query("SELECT version FROM accounting_chart"))
+                ).select(new SingleOutcome<>(String.class));
         } catch (final SQLException ex) {
             throw new DatabaseException(
-                String.format("Error on PgChart (ID : %s) while getting version.", this.id),
+                String.format("Error on PgChart (%s) while getting version.", this.key),
                 ex
             );
         }
@@ -110,14 +129,14 @@ public final class PgChart implements Chart {
     public ChartState state() {
         try {
             final String state =
-                new JdbcSession(this.source)
-                    .sql("SELECT state FROM accounting_chart WHERE id=?")
-                    .set(this.id)
-                    .select(new SingleOutcome<>(String.class));
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(this.query("SELECT state FROM accounting_chart"))
+                ).select(new SingleOutcome<>(String.class));
             return ChartState.valueOf(state);
         } catch (final SQLException ex) {
             throw new DatabaseException(
-                String.format("Error on PgChart (ID : %s) while getting state.", this.id),
+                String.format("Error on PgChart (%s) while getting state.", this.key),
                 ex
             );
         }
@@ -132,14 +151,40 @@ public final class PgChart implements Chart {
             state = ChartState.INACTIVE;
         }
         try {
-            new JdbcSession(this.source)
-                .sql("UPDATE accounting_chart SET state=? WHERE id=?")
-                .set(state.name())
-                .set(this.id)
-                .execute();
+            this.key.bound(
+                new JdbcSession(this.source)
+                    .sql(this.query("UPDATE accounting_chart SET state=?"))
+                    .set(state.name())
+            ).execute();
         } catch (final SQLException ex) {
             throw new DatabaseException(
-                String.format("Error on PgChart (ID : %s) while activating.", this.id),
+                String.format("Error on PgChart (%s) while activating.", this.key),
+                ex
+            );
+        }
+    }
+
+    @Override
+    public PgChartSnapshot snapshot() {
+        try {
+            final List<PgChartSnapshot> rows =
+                this.key.bound(
+                    new JdbcSession(this.source)
+                        .sql(
+                            this.query(
+                                "SELECT id, type, state, version FROM accounting_chart"
+                            )
+                        )
+                ).select(new ListOutcome<>(new PgChartMapping(id -> this)));
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException(
+                    String.format("Chart with ID=%s not found !", this.key.id())
+                );
+            }
+            return rows.get(0);
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format("Error on PgChart (%s) while loading.", this.key),
                 ex
             );
         }
@@ -147,6 +192,15 @@ public final class PgChart implements Chart {
 
     @Override
     public String toString() {
-        return String.format("PostgreSQL Chart with ID %s", this.id);
+        return String.format("PostgreSQL Chart with ID %s", this.key.id());
+    }
+
+    /**
+     * Query restricted to the row.
+     * @param statement Statement without condition
+     * @return Query
+     */
+    private String query(final String statement) {
+        return String.format("%s WHERE %s", statement, this.key.condition());
     }
 }
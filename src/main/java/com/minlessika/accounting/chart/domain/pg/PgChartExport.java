@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.minlessika.exceptions.DatabaseException;
+import java.nio.channels.WritableByteChannel;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * Export of a whole chart to a channel.
+ *
+ * <p>The format is made of:
+ * <ul>
+ *  <li>a header: magic number {@code ACHT} and format version on four
+ *   bytes each;</li>
+ *  <li>the chart: type, version and state as texts;</li>
+ *  <li>each account, ordered by code: byte {@code 1}, code and name as
+ *   texts, then a byte of flags (1 if reconciliation is allowed, 2 if
+ *   deprecated);</li>
+ *  <li>byte {@code 0} at the end.</li>
+ * </ul>
+ * Integers are big-endian, texts are UTF-8 prefixed by their length in
+ * bytes on two bytes. Accounts are read from a server-side cursor and
+ * written as they come, so memory use does not depend on the size of
+ * the chart. The chart and its accounts are read on one connection, in
+ * one read-only transaction at repeatable read isolation level (see
+ * {@link PgSession}): the export is a consistent copy, whatever is
+ * written meanwhile. See {@link PgChartImport} to load it back.
+ *
+ * @since 1.0.0
+ */
+public final class PgChartExport {
+
+    /**
+     * Magic number.
+     */
+    static final int MAGIC = 0x41434854;
+
+    /**
+     * Format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Account marker.
+     */
+    static final int ACCOUNT = 1;
+
+    /**
+     * End marker.
+     */
+    static final int END = 0;
+
+    /**
+     * Flag of reconciliation allowed.
+     */
+    static final int RECONCILIATION = 1;
+
+    /**
+     * Flag of deprecated.
+     */
+    static final int DEPRECATED = 2;
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Chart ID.
+     */
+    private final Long chart;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param chart Chart ID
+     */
+    public PgChartExport(final DataSource source, final Long chart) {
+        this.source = source;
+        this.chart = chart;
+    }
+
+    /**
+     * Write chart to channel.
+     * <p>The channel is left open.
+     * @param channel Channel
+     */
+    public void write(final WritableByteChannel channel) {
+        try (PgSession session = new PgSession(this.source)) {
+            this.write(this.consistent(session), channel);
+        }
+    }
+
+    /**
+     * Write chart to channel.
+     * @param src Data source of a consistent transaction
+     * @param channel Channel
+     */
+    private void write(final DataSource src,
+        final WritableByteChannel channel) {
+        final PgChartSnapshot snapshot =
+            new PgChart(src, this.chart).snapshot();
+        final ChartOutput output = new ChartOutput(channel)
+            .integer(PgChartExport.MAGIC)
+            .integer(PgChartExport.VERSION)
+            .text(snapshot.type().name())
+            .text(snapshot.version())
+            .text(snapshot.state().name());
+        try (
+            Stream<PgAccountSnapshot> accounts =
+                new PgAccounts(src, this.chart).iterate(1000).stream()
+        ) {
+            accounts.forEach(
+                account -> {
+                    int flags = 0;
+                    if (account.isReconciliationAllowed()) {
+                        flags |= PgChartExport.RECONCILIATION;
+                    }
+                    if (account.isDeprecated()) {
+                        flags |= PgChartExport.DEPRECATED;
+                    }
+                    output.octet(PgChartExport.ACCOUNT)
+                        .text(account.code())
+                        .text(account.name())
+                        .octet(flags);
+                }
+            );
+        }
+        output.octet(PgChartExport.END).flush();
+    }
+
+    /**
+     * Start a transaction that sees one snapshot of the database.
+     * <p>It must be the first statement of the session.
+     * @param session Session
+     * @return Data source bound to the session
+     */
+    private DataSource consistent(final PgSession session) {
+        final DataSource src = session.source();
+        try {
+            new JdbcSession(src)
+                .sql("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY")
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgChartExport (chart ID : %s) while starting a transaction.",
+                    this.chart
+                ),
+                ex
+            );
+        }
+        return src;
+    }
+}
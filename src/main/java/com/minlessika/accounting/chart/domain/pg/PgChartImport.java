@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.exceptions.DatabaseException;
+import java.nio.channels.ReadableByteChannel;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Import of a whole chart from a channel.
+ *
+ * <p>It reads the format written by {@link PgChartExport} and creates a
+ * new chart. Accounts are bulk loaded through {@code COPY}, in the same
+ * transaction as the chart, so either the whole chart is imported or
+ * nothing is. Chart and accounts are written to the partition of the
+ * target entity, which must exist (see {@link PgEntities#add(Long)}).
+ *
+ * @since 1.0.0
+ */
+public final class PgChartImport {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Target entity ID.
+     */
+    private final Long entity;
+
+    /**
+     * Ctor.
+     * <p>Charts are imported for no entity.
+     * @param source Data source
+     */
+    public PgChartImport(final DataSource source) {
+        this(source, 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param entity Target entity ID
+     */
+    public PgChartImport(final DataSource source, final Long entity) {
+        this.source = source;
+        this.entity = entity;
+    }
+
+    /**
+     * Read a chart from channel.
+     * <p>The channel is left open.
+     * @param channel Channel
+     * @return Chart created
+     * @throws IllegalArgumentException If content is not a chart export
+     */
+    public Chart read(final ReadableByteChannel channel) {
+        final ChartInput input = new ChartInput(channel);
+        if (input.integer() != PgChartExport.MAGIC) {
+            throw new IllegalArgumentException("Content is not a chart export !");
+        }
+        final int version = input.integer();
+        if (version != PgChartExport.VERSION) {
+            throw new IllegalArgumentException(
+                String.format("Chart export version %d not supported !", version)
+            );
+        }
+        try (Connection connection = this.source.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                final Long id = this.chart(connection, input);
+                this.accounts(connection, id, input);
+                connection.commit();
+                return new PgChart(this.source, this.entity, id);
+            } catch (final SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgChartImport (entity ID : %s) while importing a chart.",
+                    this.entity
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Insert chart.
+     * @param connection Connection
+     * @param input Input
+     * @return Chart ID
+     * @throws SQLException If fails
+     */
+    private Long chart(final Connection connection,
+        final ChartInput input) throws SQLException {
+        try (
+            PreparedStatement stmt = connection.prepareStatement(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart",
+                    "(entity_id, type, version, state)",
+                    "VALUES (?, ?, ?, ?) RETURNING id"
+                )
+            )
+        ) {
+            stmt.setLong(1, this.entity);
+            stmt.setString(2, ChartType.valueOf(input.text()).name());
+            stmt.setString(3, input.text());
+            stmt.setString(4, ChartState.valueOf(input.text()).name());
+            try (ResultSet rset = stmt.executeQuery()) {
+                rset.next();
+                return rset.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Copy accounts.
+     * @param connection Connection
+     * @param chart Chart ID
+     * @param input Input
+     * @throws SQLException If fails
+     */
+    private void accounts(final Connection connection, final Long chart,
+        final ChartInput input) throws SQLException {
+        final CopyIn copy = connection.unwrap(PGConnection.class)
+            .getCopyAPI()
+            .copyIn(
+                String.join(
+                    " ",
+                    "COPY accounting_account",
+                    "(entity_id, chart_id, code, name,",
+                    "reconciliation_allowed, deprecated)",
+                    "FROM STDIN"
+                )
+            );
+        try {
+            final PgCopyRows rows = new PgCopyRows(copy);
+            int marker = input.octet();
+            while (marker == PgChartExport.ACCOUNT) {
+                final String code = input.text();
+                final String name = input.text();
+                final int flags = input.octet();
+                rows.add(
+                    this.entity,
+                    chart,
+                    code,
+                    name,
+                    (flags & PgChartExport.RECONCILIATION) != 0,
+                    (flags & PgChartExport.DEPRECATED) != 0
+                );
+                marker = input.octet();
+            }
+            if (marker != PgChartExport.END) {
+                throw new IllegalArgumentException(
+                    String.format("Unexpected marker %d in chart export !", marker)
+                );
+            }
+            rows.end();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+}
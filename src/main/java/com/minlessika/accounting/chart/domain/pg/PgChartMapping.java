@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.ListOutcome;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.LongFunction;
+import javax.sql.DataSource;
+
+/**
+ * Mapping of an {@code accounting_chart} row to a {@link PgChartSnapshot}.
+ *
+ * <p>The result set must contain columns id, type, state and version.
+ * Snapshots write to and read again the origin given for their ID.
+ *
+ * @since 1.0.0
+ */
+final class PgChartMapping implements ListOutcome.Mapping<PgChartSnapshot> {
+
+    /**
+     * Origin of a chart by its ID.
+     */
+    private final LongFunction<PgChartOrigin> origins;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    PgChartMapping(final DataSource source) {
+        this(id -> new PgChart(source, id));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param entity Entity ID
+     */
+    PgChartMapping(final DataSource source, final Long entity) {
+        this(id -> new PgChart(source, entity, id));
+    }
+
+    /**
+     * Ctor.
+     * @param origins Origin of a chart by its ID
+     */
+    PgChartMapping(final LongFunction<PgChartOrigin> origins) {
+        this.origins = origins;
+    }
+
+    @Override
+    public PgChartSnapshot map(final ResultSet rset) throws SQLException {
+        final long id = rset.getLong("id");
+        return new PgChartSnapshot(
+            this.origins.apply(id),
+            id,
+            ChartType.valueOf(rset.getString("type")),
+            rset.getString("version"),
+            ChartState.valueOf(rset.getString("state"))
+        );
+    }
+}
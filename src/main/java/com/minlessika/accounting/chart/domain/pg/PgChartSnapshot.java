@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import javax.sql.DataSource;
+
+/**
+ * PostgreSQL Chart snapshot.
+ *
+ * <p>It holds a whole row of {@code accounting_chart} read at once, so
+ * its accessors never go to the database. Writes are sent to the
+ * database but the snapshot itself is immutable: use {@link #refresh()}
+ * to read the row again.
+ *
+ * @since 1.0.0
+ */
+public final class PgChartSnapshot implements Chart {
+
+    /**
+     * Row written to and read again.
+     */
+    private final PgChartOrigin origin;
+
+    /**
+     * Unique identifier.
+     */
+    private final Long id;
+
+    /**
+     * Type.
+     */
+    private final ChartType kind;
+
+    /**
+     * Version.
+     */
+    private final String release;
+
+    /**
+     * State.
+     */
+    private final ChartState status;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param number Number
+     * @param type Type
+     * @param version Version
+     * @param state State
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PgChartSnapshot(final DataSource source, final Long number,
+        final ChartType type, final String version, final ChartState state) {
+        this(new PgChart(source, number), number, type, version, state);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Row written to and read again
+     * @param number Number
+     * @param type Type
+     * @param version Version
+     * @param state State
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    PgChartSnapshot(final PgChartOrigin origin, final Long number,
+        final ChartType type, final String version, final ChartState state) {
+        this.origin = origin;
+        this.id = number;
+        this.kind = type;
+        this.release = version;
+        this.status = state;
+    }
+
+    @Override
+    public Long number() {
+        return this.id;
+    }
+
+    @Override
+    public String name() {
+        return String.format(
+            "Plan comptable %s révisé version %s",
+            this.kind.toString(),
+            this.release
+        );
+    }
+
+    @Override
+    public ChartType type() {
+        return this.kind;
+    }
+
+    @Override
+    public String version() {
+        return this.release;
+    }
+
+    @Override
+    public ChartState state() {
+        return this.status;
+    }
+
+    @Override
+    public void activate(final boolean enable) {
+        this.origin.activate(enable);
+    }
+
+    /**
+     * Read the row again.
+     * @return Fresh snapshot
+     */
+    public PgChartSnapshot refresh() {
+        return this.origin.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PostgreSQL Chart snapshot with ID %s", this.id);
+    }
+}
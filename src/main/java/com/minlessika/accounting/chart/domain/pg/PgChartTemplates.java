@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.reference.ReferenceChart;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Templates of standard accounts in PostgreSQL.
+ *
+ * <p>New charts are provisioned from them by
+ * {@link PgCharts#provision(ChartType, String)}.
+ *
+ * @since 1.0.0
+ */
+public final class PgChartTemplates {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    public PgChartTemplates(final DataSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Has template.
+     * @param type Chart type
+     * @param version Version
+     * @return Yes or no
+     */
+    public boolean contains(final ChartType type, final String version) {
+        try {
+            return new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT EXISTS (SELECT 1 FROM accounting_account_template",
+                        "WHERE type=? AND version=?)"
+                    )
+                )
+                .set(type.name())
+                .set(version)
+                .select(new SingleOutcome<>(Boolean.class));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgChartTemplates while checking template %s %s.",
+                    type, version
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Load template of a reference chart.
+     * <p>It replaces the template of same type and version, if any, in
+     * one transaction. Accounts are bulk loaded through {@code COPY}.
+     * @param chart Reference chart
+     */
+    public void load(final ReferenceChart chart) {
+        try (Connection connection = this.source.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (
+                    PreparedStatement stmt = connection.prepareStatement(
+                        String.join(
+                            " ",
+                            "DELETE FROM accounting_account_template",
+                            "WHERE type=? AND version=?"
+                        )
+                    )
+                ) {
+                    stmt.setString(1, chart.type().name());
+                    stmt.setString(2, chart.version());
+                    stmt.executeUpdate();
+                }
+                PgChartTemplates.copy(connection, chart);
+                connection.commit();
+            } catch (final SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgChartTemplates while loading template %s %s.",
+                    chart.type(), chart.version()
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Copy accounts of reference chart.
+     * @param connection Connection
+     * @param chart Reference chart
+     * @throws SQLException If fails
+     */
+    private static void copy(final Connection connection,
+        final ReferenceChart chart) throws SQLException {
+        final CopyIn copy = connection.unwrap(PGConnection.class)
+            .getCopyAPI()
+            .copyIn(
+                String.join(
+                    " ",
+                    "COPY accounting_account_template",
+                    "(type, version, code, name, reconciliation_allowed)",
+                    "FROM STDIN"
+                )
+            );
+        try {
+            final PgCopyRows rows = new PgCopyRows(copy);
+            final String type = chart.type().name();
+            final String version = chart.version();
+            for (final Account account : chart) {
+                rows.add(
+                    type,
+                    version,
+                    account.code(),
+                    account.name(),
+                    account.isReconciliationAllowed()
+                );
+            }
+            rows.end();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+}
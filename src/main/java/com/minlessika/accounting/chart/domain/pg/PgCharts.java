@@ -24,6 +24,7 @@
 
 package com.minlessika.accounting.chart.domain.pg;
 
+import com.jcabi.jdbc.ColumnOutcome;
 import com.jcabi.jdbc.JdbcSession;
 import com.jcabi.jdbc.ListOutcome;
 import com.jcabi.jdbc.SingleOutcome;
@@ -34,6 +35,12 @@ import com.minlessika.accounting.chart.domain.api.Charts;
 import com.minlessika.exceptions.DatabaseException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import javax.sql.DataSource;
 
 /**
@@ -80,12 +87,43 @@ public final class PgCharts implements Charts {
         }
     }
 
+    /**
+     * Iterate them all through a server-side cursor.
+     * <p>Ordered by id ascending. Charts are already loaded and only
+     * {@code fetch} rows are held in memory at a time.
+     * @param fetch Number of rows fetched per round trip
+     * @return All charts
+     */
+    public PgCursor<PgChartSnapshot> iterate(final int fetch) {
+        return new PgCursor<>(
+            this.source,
+            String.join(
+                " ",
+                "SELECT id, type, state, version",
+                "FROM accounting_chart ORDER BY id ASC"
+            ),
+            new PgChartMapping(this.source),
+            fetch
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It sums the counters of charts of every entity, kept by
+     * triggers, instead of counting rows.
+     */
     @Override
     public Long size() {
         try {
             return
                 new JdbcSession(this.source)
-                    .sql("SELECT COUNT(*) FROM accounting_chart")
+                    .sql(
+                        String.join(
+                            " ",
+                            "SELECT COALESCE(SUM(size), 0)::bigint",
+                            "FROM accounting_counter WHERE kind='chart'"
+                        )
+                    )
                     .select(new SingleOutcome<>(Long.class));
         } catch (final SQLException ex) {
             throw new DatabaseException(
@@ -95,6 +133,16 @@ public final class PgCharts implements Charts {
         }
     }
 
+    /**
+     * Estimated number of charts.
+     * <p>Faster than {@link #size()} but approximate: it's read from
+     * statistics of PostgreSQL (see {@link PgEstimate}).
+     * @return Number
+     */
+    public Long estimate() {
+        return new PgEstimate(this.source, "accounting_chart").value();
+    }
+
     @Override
     public Chart get(final Long number) {
         try {
@@ -120,6 +168,58 @@ public final class PgCharts implements Charts {
         }
     }
 
+    /**
+     * Get a set of charts at once.
+     * <p>Charts are loaded by a single query and returned in the order
+     * of their IDs.
+     * @param ids Charts IDs
+     * @return Charts
+     * @throws IllegalArgumentException If some charts are not found, all
+     *  of them being reported
+     */
+    public List<Chart> get(final Collection<Long> ids) {
+        final Map<Long, Chart> found = new HashMap<>(ids.size());
+        try {
+            final List<PgChartSnapshot> rows = new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT id, type, state, version",
+                        "FROM accounting_chart WHERE id = ANY(?::bigint[])"
+                    )
+                )
+                .set(new PgIds(ids).toString())
+                .select(new ListOutcome<>(new PgChartMapping(this.source)));
+            for (final PgChartSnapshot chart : rows) {
+                found.put(chart.number(), chart);
+            }
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgCharts while getting Charts with IDs=%s.",
+                    ids
+                ),
+                ex
+            );
+        }
+        final List<Chart> charts = new ArrayList<>(ids.size());
+        final Collection<Long> missing = new TreeSet<>();
+        for (final Long id : ids) {
+            final Chart chart = found.get(id);
+            if (chart == null) {
+                missing.add(id);
+            } else {
+                charts.add(chart);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("Charts with IDs=%s not found !", missing)
+            );
+        }
+        return charts;
+    }
+
     @Override
     public Chart add(final ChartType type, final String version) {
         try {
@@ -162,4 +262,158 @@ public final class PgCharts implements Charts {
             );
         }
     }
+
+    /**
+     * Create a number of charts at once.
+     * <p>Charts are inserted by a single statement. RETURNING gives no
+     * order, so IDs are sorted by the statement itself.
+     * @param type Type
+     * @param version Version
+     * @param count Number of charts to create
+     * @return IDs of charts created, ascending
+     */
+    public List<Long> add(final ChartType type, final String version,
+        final int count) {
+        try {
+            return new ArrayList<>(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "WITH added AS (",
+                            "INSERT INTO accounting_chart (type, state, version)",
+                            "SELECT ?, ?, ? FROM generate_series(1, ?)",
+                            "RETURNING id) SELECT id FROM added ORDER BY id"
+                        )
+                    )
+                    .set(type.name())
+                    .set(ChartState.ACTIVE.name())
+                    .set(version)
+                    .set(count)
+                    .select(new ColumnOutcome<>(Long.class))
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgCharts while adding %s new Charts.",
+                    count
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Create a chart with all the accounts of its template.
+     * <p>Chart and accounts are inserted by a single statement, so that
+     * either both are created or none.
+     * @param type Type
+     * @param version Version
+     * @return Chart created
+     * @throws IllegalArgumentException If there is no template for type
+     *  and version
+     * @see PgChartTemplates
+     */
+    public Chart provision(final ChartType type, final String version) {
+        final Long id;
+        try {
+            id = new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "WITH chart AS (",
+                        "  INSERT INTO accounting_chart (type, state, version)",
+                        "  SELECT ?, ?, ? WHERE EXISTS (",
+                        "    SELECT 1 FROM accounting_account_template",
+                        "    WHERE type=? AND version=?",
+                        "  )",
+                        "  RETURNING entity_id, id",
+                        "), accounts AS (",
+                        "  INSERT INTO accounting_account",
+                        "  (entity_id, chart_id, code, name, reconciliation_allowed)",
+                        "  SELECT c.entity_id, c.id, t.code, t.name,",
+                        "  t.reconciliation_allowed",
+                        "  FROM chart c, accounting_account_template t",
+                        "  WHERE t.type=? AND t.version=?",
+                        ")",
+                        "SELECT id FROM chart"
+                    )
+                )
+                .set(type.name())
+                .set(ChartState.ACTIVE.name())
+                .set(version)
+                .set(type.name())
+                .set(version)
+                .set(type.name())
+                .set(version)
+                .select(new SingleOutcome<>(Long.class, true));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgCharts while provisioning a new Chart %s %s.",
+                    type, version
+                ),
+                ex
+            );
+        }
+        if (id == null) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Template of chart %s version %s not found !",
+                    type, version
+                )
+            );
+        }
+        return new PgChart(this.source, id);
+    }
+
+    /**
+     * Activate or deactivate a set of charts at once.
+     * @param ids Charts IDs
+     * @param enable Enable
+     */
+    public void activate(final Collection<Long> ids, final boolean enable) {
+        final ChartState state;
+        if (enable) {
+            state = ChartState.ACTIVE;
+        } else {
+            state = ChartState.INACTIVE;
+        }
+        try {
+            new JdbcSession(this.source)
+                .sql("UPDATE accounting_chart SET state=? WHERE id = ANY(?::bigint[])")
+                .set(state.name())
+                .set(new PgIds(ids).toString())
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgCharts while activating Charts with IDs=%s.",
+                    ids
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Remove a set of charts at once.
+     * @param ids Charts IDs
+     */
+    public void remove(final Collection<Long> ids) {
+        try {
+            new JdbcSession(this.source)
+                .sql("DELETE FROM accounting_chart WHERE id = ANY(?::bigint[])")
+                .set(new PgIds(ids).toString())
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgCharts while removing Charts with IDs=%s.",
+                    ids
+                ),
+                ex
+            );
+        }
+    }
 }
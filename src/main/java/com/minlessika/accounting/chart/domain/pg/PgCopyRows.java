@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Rows sent to a {@code COPY ... FROM STDIN} in text format.
+ *
+ * <p>Rows are buffered and sent by chunks of 64 KiB.
+ *
+ * @since 1.0.0
+ */
+final class PgCopyRows {
+
+    /**
+     * Size of data sent per round trip.
+     */
+    private static final int CHUNK = 65_536;
+
+    /**
+     * Copy operation.
+     */
+    private final CopyIn copy;
+
+    /**
+     * Rows not sent yet.
+     */
+    private final ByteArrayOutputStream rows;
+
+    /**
+     * Row being built.
+     */
+    private final StringBuilder row;
+
+    /**
+     * Ctor.
+     * @param copy Copy operation
+     */
+    PgCopyRows(final CopyIn copy) {
+        this.copy = copy;
+        this.rows = new ByteArrayOutputStream(PgCopyRows.CHUNK);
+        this.row = new StringBuilder(128);
+    }
+
+    /**
+     * Add a row.
+     * @param fields Fields
+     * @return This rows
+     * @throws SQLException If fails
+     */
+    public PgCopyRows add(final Object... fields) throws SQLException {
+        this.row.setLength(0);
+        for (int idx = 0; idx < fields.length; ++idx) {
+            if (idx > 0) {
+                this.row.append('\t');
+            }
+            this.field(fields[idx]);
+        }
+        this.row.append('\n');
+        final byte[] bytes = this.row.toString().getBytes(StandardCharsets.UTF_8);
+        this.rows.write(bytes, 0, bytes.length);
+        if (this.rows.size() >= PgCopyRows.CHUNK) {
+            this.send();
+        }
+        return this;
+    }
+
+    /**
+     * Send remaining rows and end copy.
+     * @return Number of rows copied
+     * @throws SQLException If fails
+     */
+    public long end() throws SQLException {
+        if (this.rows.size() > 0) {
+            this.send();
+        }
+        return this.copy.endCopy();
+    }
+
+    /**
+     * Append a field in COPY text format.
+     * @param field Field
+     */
+    private void field(final Object field) {
+        if (field == null) {
+            this.row.append("\\N");
+        } else if (field instanceof Boolean) {
+            if ((Boolean) field) {
+                this.row.append('t');
+            } else {
+                this.row.append('f');
+            }
+        } else {
+            final String text = field.toString();
+            for (int idx = 0; idx < text.length(); ++idx) {
+                final char chr = text.charAt(idx);
+                switch (chr) {
+                    case '\\':
+                        this.row.append("\\\\");
+                        break;
+                    case '\t':
+                        this.row.append("\\t");
+                        break;
+                    case '\n':
+                        this.row.append("\\n");
+                        break;
+                    case '\r':
+                        this.row.append("\\r");
+                        break;
+                    default:
+                        this.row.append(chr);
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Send rows buffered.
+     * @throws SQLException If fails
+     */
+    private void send() throws SQLException {
+        this.copy.writeToCopy(this.rows.toByteArray(), 0, this.rows.size());
+        this.rows.reset();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Counters of charts and accounts in PostgreSQL.
+ *
+ * <p>Triggers add a delta row to a counter on every write, so that
+ * writers never wait for each other. Counters grow with writes until
+ * they are compacted: run {@link #compact()} from time to time, for
+ * instance on a {@link java.util.concurrent.ScheduledExecutorService}.
+ *
+ * @since 1.0.0
+ */
+public final class PgCounters {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    public PgCounters(final DataSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Merge deltas of each counter into one row.
+     * <p>Counters back to zero are removed. Deltas added meanwhile are
+     * left for the next run, so writers are never blocked and sizes
+     * stay the same.
+     */
+    public void compact() {
+        try {
+            new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "WITH merged AS (DELETE FROM accounting_counter",
+                        "WHERE (kind, owner) IN (SELECT kind, owner",
+                        "FROM accounting_counter GROUP BY kind, owner",
+                        "HAVING COUNT(*) > 1 OR SUM(size) = 0)",
+                        "RETURNING kind, owner, entity_id, size)",
+                        "INSERT INTO accounting_counter (kind, owner, entity_id, size)",
+                        "SELECT kind, owner, MIN(entity_id), SUM(size) FROM merged",
+                        "GROUP BY kind, owner HAVING SUM(size) <> 0"
+                    )
+                )
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                "Error on PgCounters while compacting counters.",
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.ListOutcome;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+
+/**
+ * Rows streamed from a PostgreSQL server-side cursor.
+ *
+ * <p>Rows are fetched by batches of the given size, so heap use does
+ * not depend on the number of rows. Each read borrows its own
+ * connection, in a transaction open until the cursor is closed. Rows
+ * are therefore only read through {@link #forEach(Consumer)}, or
+ * {@link #stream()} in a try-with-resources block, which always close
+ * the cursor: a caller stopping early or failing never leaves its
+ * connection idle in transaction.
+ *
+ * @param <T> Type of item
+ * @since 1.0.0
+ */
+public final class PgCursor<T> {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * SQL query.
+     */
+    private final String query;
+
+    /**
+     * Row mapping.
+     */
+    private final ListOutcome.Mapping<T> mapping;
+
+    /**
+     * Number of rows fetched per round trip.
+     */
+    private final int fetch;
+
+    /**
+     * Query arguments.
+     */
+    private final Collection<Object> args;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param query SQL query
+     * @param mapping Row mapping
+     * @param fetch Number of rows fetched per round trip
+     * @param args Query arguments
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public PgCursor(final DataSource source, final String query,
+        final ListOutcome.Mapping<T> mapping, final int fetch,
+        final Object... args) {
+        this.source = source;
+        this.query = query;
+        this.mapping = mapping;
+        this.fetch = fetch;
+        this.args = Arrays.asList(args);
+    }
+
+    /**
+     * Pass every row to an action.
+     * <p>Cursor is closed once done, even if the action fails.
+     * @param action Action
+     */
+    public void forEach(final Consumer<? super T> action) {
+        try (Stream<T> rows = this.stream()) {
+            rows.forEachOrdered(action);
+        }
+    }
+
+    /**
+     * Stream of rows.
+     * <p>Closing the stream closes the cursor: it should be used in a
+     * try-with-resources block.
+     * @return Stream
+     */
+    public Stream<T> stream() {
+        final PgCursorIterator<T> iterator = this.open();
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(iterator::close);
+    }
+
+    /**
+     * Open cursor.
+     * @return Iterator over the cursor
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    private PgCursorIterator<T> open() {
+        Connection connection = null;
+        try {
+            connection = this.source.getConnection();
+            connection.setAutoCommit(false);
+            final PreparedStatement stmt = connection.prepareStatement(
+                this.query,
+                ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY
+            );
+            stmt.setFetchSize(this.fetch);
+            int idx = 1;
+            for (final Object arg : this.args) {
+                stmt.setObject(idx, arg);
+                idx += 1;
+            }
+            return new PgCursorIterator<>(
+                connection, stmt, stmt.executeQuery(), this.mapping
+            );
+        } catch (final SQLException ex) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (final SQLException cex) {
+                    ex.addSuppressed(cex);
+                }
+            }
+            throw new DatabaseException(
+                String.format("Error on PgCursor while opening %s.", this.query),
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.ListOutcome;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over an open PostgreSQL cursor.
+ *
+ * <p>It closes its result set, statement and connection as soon as the
+ * last row is read, or when {@link #close()} is called.
+ *
+ * @param <T> Type of item
+ * @since 1.0.0
+ */
+final class PgCursorIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Connection.
+     */
+    private final Connection connection;
+
+    /**
+     * Statement.
+     */
+    private final Statement stmt;
+
+    /**
+     * Result set.
+     */
+    private final ResultSet rset;
+
+    /**
+     * Row mapping.
+     */
+    private final ListOutcome.Mapping<T> mapping;
+
+    /**
+     * Is current row read ahead and not consumed yet.
+     */
+    private boolean ahead;
+
+    /**
+     * Is cursor closed.
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param connection Connection
+     * @param stmt Statement
+     * @param rset Result set
+     * @param mapping Row mapping
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    PgCursorIterator(final Connection connection, final Statement stmt,
+        final ResultSet rset, final ListOutcome.Mapping<T> mapping) {
+        this.connection = connection;
+        this.stmt = stmt;
+        this.rset = rset;
+        this.mapping = mapping;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.ahead && !this.closed) {
+            try {
+                this.ahead = this.rset.next();
+            } catch (final SQLException ex) {
+                this.close();
+                throw new DatabaseException(
+                    "Error on PgCursor while fetching.", ex
+                );
+            }
+            if (!this.ahead) {
+                this.close();
+            }
+        }
+        return this.ahead;
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more rows in cursor.");
+        }
+        this.ahead = false;
+        try {
+            return this.mapping.map(this.rset);
+        } catch (final SQLException ex) {
+            this.close();
+            throw new DatabaseException(
+                "Error on PgCursor while mapping a row.", ex
+            );
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.ahead = false;
+            try (Connection conn = this.connection) {
+                this.rset.close();
+                this.stmt.close();
+                conn.rollback();
+                conn.setAutoCommit(true);
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgCursor while closing.", ex
+                );
+            }
+        }
+    }
+}
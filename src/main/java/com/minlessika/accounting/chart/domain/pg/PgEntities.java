@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Partitions of entities in PostgreSQL.
+ *
+ * <p>Charts and accounts of an entity live in their own partitions
+ * ({@code accounting_chart_<id>} and {@code accounting_account_<id>}).
+ * Partition 0 holds charts owned by no entity: it can't be removed.
+ *
+ * @since 1.0.0
+ */
+public final class PgEntities {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    public PgEntities(final DataSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Has partitions of an entity.
+     * @param entity Entity ID
+     * @return Yes or no
+     */
+    public boolean contains(final Long entity) {
+        try {
+            return new JdbcSession(this.source)
+                .sql("SELECT to_regclass(?) IS NOT NULL")
+                .set(PgEntities.partition("accounting_chart", entity))
+                .select(new SingleOutcome<>(Boolean.class));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntities while checking entity with ID=%s.",
+                    entity
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Create partitions of an entity, if they don't exist yet.
+     * @param entity Entity ID
+     * @return Charts of the entity
+     */
+    public PgEntityCharts add(final Long entity) {
+        PgEntities.validate(entity);
+        try {
+            new JdbcSession(this.source)
+                .autocommit(false)
+                .sql(PgEntities.creation("accounting_chart", entity))
+                .execute()
+                .sql(PgEntities.creation("accounting_account", entity))
+                .execute()
+                .commit();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntities while adding entity with ID=%s.",
+                    entity
+                ),
+                ex
+            );
+        }
+        return new PgEntityCharts(this.source, entity);
+    }
+
+    /**
+     * Remove an entity with all its charts and accounts.
+     * <p>Its partitions are dropped, which costs the same whatever the
+     * number of rows. Partition of accounts goes first since it references
+     * the one of charts. Dropping fires no trigger, so counters of the
+     * entity are removed beforehand.
+     * @param entity Entity ID
+     */
+    public void remove(final Long entity) {
+        PgEntities.validate(entity);
+        if (entity == 0L) {
+            throw new IllegalArgumentException(
+                "Partition of charts owned by no entity can't be removed !"
+            );
+        }
+        if (this.contains(entity)) {
+            this.drop(entity);
+        }
+    }
+
+    /**
+     * Drop partitions of an entity.
+     * @param entity Entity ID
+     */
+    private void drop(final Long entity) {
+        final String charts = PgEntities.partition("accounting_chart", entity);
+        try {
+            new JdbcSession(this.source)
+                .autocommit(false)
+                .sql("DELETE FROM accounting_counter WHERE entity_id=?")
+                .set(entity)
+                .execute()
+                .sql(
+                    String.format(
+                        "DROP TABLE %s",
+                        PgEntities.partition("accounting_account", entity)
+                    )
+                )
+                .execute()
+                .sql(
+                    String.format(
+                        "ALTER TABLE accounting_chart DETACH PARTITION %s",
+                        charts
+                    )
+                )
+                .execute()
+                .sql(String.format("DROP TABLE %s", charts))
+                .execute()
+                .commit();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntities while removing entity with ID=%s.",
+                    entity
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Check entity ID.
+     * @param entity Entity ID
+     */
+    private static void validate(final Long entity) {
+        if (entity < 0L) {
+            throw new IllegalArgumentException(
+                String.format("Entity ID %s should be positive !", entity)
+            );
+        }
+    }
+
+    /**
+     * Statement that creates a partition of a table.
+     * @param table Partitioned table
+     * @param entity Entity ID
+     * @return SQL statement
+     */
+    private static String creation(final String table, final Long entity) {
+        return String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES IN (%d)",
+            PgEntities.partition(table, entity), table, entity
+        );
+    }
+
+    /**
+     * Name of a partition.
+     * @param table Partitioned table
+     * @param entity Entity ID
+     * @return Name
+     */
+    private static String partition(final String table, final Long entity) {
+        return String.format("%s_%d", table, entity);
+    }
+}
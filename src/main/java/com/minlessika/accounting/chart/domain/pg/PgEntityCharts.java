@@ -0,0 +1,235 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Charts of an entity from PostgreSQL.
+ *
+ * <p>Every query is bound to the entity, so that it only reads its
+ * partition. Charts returned are already loaded
+ * (see {@link PgChartSnapshot}) and their writes are bound to the entity
+ * too, as are accounts and their trees. Partitions of the entity must exist
+ * (see {@link PgEntities#add(Long)}).
+ *
+ * @since 1.0.0
+ */
+public final class PgEntityCharts implements Charts {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Entity ID.
+     */
+    private final Long entity;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param entity Entity ID
+     */
+    public PgEntityCharts(final DataSource source, final Long entity) {
+        this.source = source;
+        this.entity = entity;
+    }
+
+    @Override
+    public Iterable<Chart> iterate() {
+        return this.select("ORDER BY id ASC");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>It reads the counter of charts of the entity, kept by triggers.
+     */
+    @Override
+    public Long size() {
+        try {
+            return new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT COALESCE(SUM(size), 0)::bigint",
+                        "FROM accounting_counter WHERE kind='chart' AND owner=?"
+                    )
+                )
+                .set(this.entity)
+                .select(new SingleOutcome<>(Long.class));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntityCharts (entity ID : %s) while getting size.",
+                    this.entity
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Estimated number of charts of the entity.
+     * <p>Approximate: it's read from statistics of the partition of the
+     * entity (see {@link PgEstimate}).
+     * @return Number
+     */
+    public Long estimate() {
+        return new PgEstimate(
+            this.source, String.format("accounting_chart_%d", this.entity)
+        ).value();
+    }
+
+    @Override
+    public Chart get(final Long number) {
+        final List<Chart> found = this.select("AND id=?", number);
+        if (found.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("Chart with ID=%s not found !", number)
+            );
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public Chart add(final ChartType type, final String version) {
+        try {
+            final Long id = new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "INSERT INTO accounting_chart",
+                        "(entity_id, type, state, version)",
+                        "VALUES (?, ?, ?, ?) RETURNING id"
+                    )
+                )
+                .set(this.entity)
+                .set(type.name())
+                .set(ChartState.ACTIVE.name())
+                .set(version)
+                .select(new SingleOutcome<>(Long.class));
+            return new PgChartSnapshot(
+                new PgChart(this.source, this.entity, id),
+                id, type, version, ChartState.ACTIVE
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntityCharts (entity ID : %s) while adding a new Chart.",
+                    this.entity
+                ),
+                ex
+            );
+        }
+    }
+
+    @Override
+    public void remove(final Long id) {
+        try {
+            new JdbcSession(this.source)
+                .sql("DELETE FROM accounting_chart WHERE entity_id=? AND id=?")
+                .set(this.entity)
+                .set(id)
+                .execute();
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntityCharts (entity ID : %s) while removing Chart with ID=%s.",
+                    this.entity,
+                    id
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Accounts of a chart of the entity.
+     * @param chart Chart ID
+     * @return Accounts
+     */
+    public PgAccounts accounts(final Long chart) {
+        return new PgAccounts(this.source, this.entity, chart);
+    }
+
+    /**
+     * Accounts of a chart of the entity seen as a tree.
+     * @param chart Chart ID
+     * @return Tree of accounts
+     */
+    public PgAccountTree tree(final Long chart) {
+        return new PgAccountTree(this.source, this.entity, chart);
+    }
+
+    /**
+     * Select charts of the entity.
+     * @param clause Rest of the query after entity condition
+     * @param args Arguments of the clause
+     * @return Charts
+     */
+    private List<Chart> select(final String clause, final Object... args) {
+        try {
+            final JdbcSession session = new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT id, type, state, version",
+                        "FROM accounting_chart WHERE entity_id=?",
+                        clause
+                    )
+                )
+                .set(this.entity);
+            for (final Object arg : args) {
+                session.set(arg);
+            }
+            return new ArrayList<Chart>(
+                session.select(
+                    new ListOutcome<>(new PgChartMapping(this.source, this.entity))
+                )
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEntityCharts (entity ID : %s) while selecting.",
+                    this.entity
+                ),
+                ex
+            );
+        }
+    }
+}
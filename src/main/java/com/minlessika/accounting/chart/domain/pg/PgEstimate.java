@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * Estimated number of rows of a table, from statistics of PostgreSQL.
+ *
+ * <p>It sums the estimates of the table and of its partitions, as last
+ * updated by {@code VACUUM}, {@code ANALYZE} or autovacuum. It reads
+ * no row of the table, but may lag behind recent writes. A table never
+ * analyzed counts no row; a table that doesn't exist neither.
+ *
+ * @since 1.0.0
+ */
+final class PgEstimate {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Table name.
+     */
+    private final String table;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param table Table name
+     */
+    PgEstimate(final DataSource source, final String table) {
+        this.source = source;
+        this.table = table;
+    }
+
+    /**
+     * Estimated number of rows.
+     * @return Number
+     */
+    public Long value() {
+        try {
+            return new JdbcSession(this.source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT COALESCE(SUM(GREATEST(reltuples, 0)), 0)::bigint",
+                        "FROM pg_class WHERE oid = to_regclass(?)",
+                        "OR oid IN (SELECT inhrelid FROM pg_inherits",
+                        "WHERE inhparent = to_regclass(?))"
+                    )
+                )
+                .set(this.table)
+                .set(this.table)
+                .select(new SingleOutcome<>(Long.class));
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                String.format(
+                    "Error on PgEstimate while estimating size of %s.",
+                    this.table
+                ),
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL array literal of IDs.
+ *
+ * <p>It's bound as a string and cast in SQL, like
+ * {@code WHERE id = ANY(?::bigint[])}, so that a whole set of IDs
+ * goes in a single parameter.
+ *
+ * @since 1.0.0
+ */
+final class PgIds {
+
+    /**
+     * IDs.
+     */
+    private final Collection<Long> ids;
+
+    /**
+     * Ctor.
+     * @param ids IDs
+     */
+    PgIds(final Collection<Long> ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String toString() {
+        return this.ids.stream()
+            .map(String::valueOf)
+            .collect(Collectors.joining(",", "{", "}"));
+    }
+}
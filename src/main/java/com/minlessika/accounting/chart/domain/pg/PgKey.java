@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+
+/**
+ * Key of a row, optionally within an entity.
+ *
+ * <p>When the entity is given, queries on the row only read its
+ * partition. Otherwise, they look up the ID index of every partition.
+ *
+ * @since 1.0.0
+ */
+final class PgKey {
+
+    /**
+     * SQL condition on the row.
+     */
+    private final String condition;
+
+    /**
+     * Values of the condition, the last one being the ID.
+     */
+    private final Object[] keys;
+
+    /**
+     * Ctor.
+     * @param id Row ID
+     */
+    PgKey(final Long id) {
+        this("id=?", new Object[]{id});
+    }
+
+    /**
+     * Ctor.
+     * @param entity Entity ID
+     * @param id Row ID
+     */
+    PgKey(final Long entity, final Long id) {
+        this("entity_id=? AND id=?", new Object[]{entity, id});
+    }
+
+    /**
+     * Ctor.
+     * @param condition SQL condition on the row
+     * @param keys Values of the condition
+     */
+    private PgKey(final String condition, final Object[] keys) {
+        this.condition = condition;
+        this.keys = keys.clone();
+    }
+
+    /**
+     * SQL condition on the row.
+     * @return Condition
+     */
+    public String condition() {
+        return this.condition;
+    }
+
+    /**
+     * Row ID.
+     * @return ID
+     */
+    public Long id() {
+        return (Long) this.keys[this.keys.length - 1];
+    }
+
+    /**
+     * Set values of the condition.
+     * @param session Session
+     * @return Session
+     */
+    public JdbcSession bound(final JdbcSession session) {
+        for (final Object key : this.keys) {
+            session.set(key);
+        }
+        return session;
+    }
+
+    @Override
+    public String toString() {
+        final String text;
+        if (this.keys.length > 1) {
+            text = String.format("entity ID : %s, ID : %s", this.keys[0], this.id());
+        } else {
+            text = String.format("ID : %s", this.id());
+        }
+        return text;
+    }
+}
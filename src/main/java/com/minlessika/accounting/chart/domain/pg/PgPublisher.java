@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Publisher of rows read from a PostgreSQL server-side cursor.
+ *
+ * <p>Rows are read only as the subscriber requests them, so a slow
+ * subscriber throttles reads instead of letting them pile up in
+ * memory. Each subscription opens its own cursor, which is closed on
+ * completion, on error or on cancellation. Rows are read and emitted
+ * on the given executor, by default on the thread that requests them.
+ *
+ * @param <T> Type of item
+ * @since 1.0.0
+ */
+public final class PgPublisher<T> implements Publisher<T> {
+
+    /**
+     * Cursor.
+     */
+    private final PgCursor<T> cursor;
+
+    /**
+     * Executor reading and emitting rows.
+     */
+    private final Executor executor;
+
+    /**
+     * Ctor.
+     * @param cursor Cursor
+     */
+    public PgPublisher(final PgCursor<T> cursor) {
+        this(cursor, Runnable::run);
+    }
+
+    /**
+     * Ctor.
+     * @param cursor Cursor
+     * @param executor Executor reading and emitting rows
+     */
+    public PgPublisher(final PgCursor<T> cursor, final Executor executor) {
+        this.cursor = cursor;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber is mandatory !");
+        subscriber.onSubscribe(
+            new PgSubscription<>(this.cursor, subscriber, this.executor)
+        );
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.jcabi.jdbc.SingleOutcome;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+
+/**
+ * Read replica of PostgreSQL, with its last known status.
+ *
+ * <p>Status is made of the lag of the replica, in milliseconds, and of
+ * the position it has replayed in the write-ahead log. Lag is measured
+ * against the primary: a replica that has replayed the current position
+ * of the primary doesn't lag, whatever the time of its last replayed
+ * transaction. Otherwise, its lag is the time since it replayed its last
+ * transaction, which keeps growing when the replica is stalled or
+ * disconnected. A server not in recovery never serves: it isn't a
+ * replica of the primary, so its position in the write-ahead log tells
+ * nothing of what it has replayed. When the primary can't be reached,
+ * lag is always measured by time. A replica that can't be reached
+ * doesn't serve until the next check.
+ *
+ * @since 1.0.0
+ */
+final class PgReplica {
+
+    /**
+     * Query of status.
+     */
+    private static final String STATUS = String.join(
+        " ",
+        "SELECT CASE WHEN replayed IS NULL THEN -1",
+        "WHEN replayed >= ? THEN 0 ELSE COALESCE(",
+        "(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)",
+        "::bigint, -1) END AS lag, COALESCE(replayed, -1) AS replayed FROM (",
+        "SELECT CASE WHEN pg_is_in_recovery() THEN",
+        "(pg_last_wal_replay_lsn() - '0/0'::pg_lsn)::bigint END AS replayed",
+        ") AS status"
+    );
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Primary.
+     */
+    private final DataSource primary;
+
+    /**
+     * Period between two checks, in nanoseconds.
+     */
+    private final long period;
+
+    /**
+     * Last status: time of check in nanoseconds, lag and replayed position.
+     */
+    private final AtomicReference<long[]> status;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param primary Primary
+     * @param period Period between two checks
+     */
+    PgReplica(final DataSource source, final DataSource primary,
+        final Duration period) {
+        this.source = source;
+        this.primary = primary;
+        this.period = period.toNanos();
+        this.status = new AtomicReference<>();
+    }
+
+    /**
+     * Data source.
+     * @return Data source
+     */
+    public DataSource source() {
+        return this.source;
+    }
+
+    /**
+     * Can serve reads.
+     * @param tolerance Lag tolerance, in milliseconds
+     * @param lsn Position of the primary to have replayed
+     * @return Yes or no
+     */
+    public boolean serves(final long tolerance, final long lsn) {
+        final long[] last = this.checked();
+        return last[1] >= 0L && last[1] <= tolerance && last[2] >= lsn;
+    }
+
+    /**
+     * Status, checked again if it's older than the period.
+     * @return Time of check, lag and replayed position
+     */
+    private long[] checked() {
+        final long now = System.nanoTime();
+        long[] last = this.status.get();
+        if (last == null || now - last[0] >= this.period) {
+            last = this.fetched(now);
+            this.status.set(last);
+        }
+        return last;
+    }
+
+    /**
+     * Fetch status.
+     * @param now Time of check, in nanoseconds
+     * @return Time of check, lag and replayed position; a negative lag if
+     *  the replica can't be reached
+     */
+    private long[] fetched(final long now) {
+        final long lsn = this.position();
+        long[] fetched;
+        try {
+            fetched = new JdbcSession(this.source)
+                .sql(PgReplica.STATUS)
+                .set(lsn)
+                .select(
+                    new ListOutcome<>(
+                        new ListOutcome.Mapping<long[]>() {
+                            @Override
+                            public long[] map(final ResultSet rset)
+                                throws SQLException {
+                                return new long[] {
+                                    now,
+                                    rset.getLong("lag"),
+                                    rset.getLong("replayed"),
+                                };
+                            }
+                        }
+                    )
+                ).get(0);
+        } catch (final SQLException ex) {
+            fetched = new long[] {now, -1L, -1L};
+        }
+        return fetched;
+    }
+
+    /**
+     * Current position of the primary.
+     * @return Bytes from start of its write-ahead log, or the greatest
+     *  position if the primary can't be reached
+     */
+    private long position() {
+        long position;
+        try {
+            position = new JdbcSession(this.primary)
+                .sql("SELECT (pg_current_wal_lsn() - '0/0'::pg_lsn)::bigint")
+                .select(new SingleOutcome<>(Long.class));
+        } catch (final SQLException ex) {
+            position = Long.MAX_VALUE;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+/**
+ * Primary and read replicas of PostgreSQL.
+ *
+ * <p>Writes go to the primary. Reads go to the replicas in turn, as long
+ * as they lag behind the primary no more than a tolerance; otherwise,
+ * or when no replica is reachable, they go to the primary. Status of a
+ * replica is checked at most once per period, against the position of
+ * the primary at that time: a replica that hasn't replayed it lags by
+ * the time since its last replayed transaction.
+ *
+ * @since 1.0.0
+ */
+public final class PgReplicas {
+
+    /**
+     * Primary.
+     */
+    private final DataSource primary;
+
+    /**
+     * Replicas.
+     */
+    private final List<PgReplica> replicas;
+
+    /**
+     * Lag tolerance, in milliseconds.
+     */
+    private final long tolerance;
+
+    /**
+     * Next replica to read.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * Ctor.
+     * <p>Status of replicas is checked at most once per second.
+     * @param primary Primary
+     * @param replicas Replicas
+     * @param lag Lag tolerance
+     */
+    public PgReplicas(final DataSource primary,
+        final Collection<DataSource> replicas, final Duration lag) {
+        this(primary, replicas, lag, Duration.ofSeconds(1L));
+    }
+
+    /**
+     * Ctor.
+     * @param primary Primary
+     * @param replicas Replicas
+     * @param lag Lag tolerance
+     * @param period Period between two checks of a replica
+     */
+    public PgReplicas(final DataSource primary,
+        final Collection<DataSource> replicas, final Duration lag,
+        final Duration period) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (final DataSource replica : replicas) {
+            this.replicas.add(new PgReplica(replica, primary, period));
+        }
+        this.tolerance = lag.toMillis();
+        this.next = new AtomicInteger();
+    }
+
+    /**
+     * Data source to write to.
+     * @return Primary
+     */
+    public DataSource primary() {
+        return this.primary;
+    }
+
+    /**
+     * Data source to read from.
+     * @return A replica, or primary if none can serve
+     */
+    public DataSource replica() {
+        return this.replica(0L);
+    }
+
+    /**
+     * Data source to read from, once a position of the primary is
+     * replayed.
+     * @param lsn Position in the write-ahead log of the primary, as bytes
+     *  from its start
+     * @return A replica, or primary if none can serve
+     */
+    public DataSource replica(final long lsn) {
+        final int size = this.replicas.size();
+        DataSource source = this.primary;
+        if (size > 0) {
+            final int start = Math.floorMod(this.next.getAndIncrement(), size);
+            for (int idx = 0; idx < size; ++idx) {
+                final PgReplica replica =
+                    this.replicas.get((start + idx) % size);
+                if (replica.serves(this.tolerance, lsn)) {
+                    source = replica.source();
+                    break;
+                }
+            }
+        }
+        return source;
+    }
+}
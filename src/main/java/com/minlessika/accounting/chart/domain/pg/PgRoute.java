@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+/**
+ * Route of calls between primary and replicas.
+ *
+ * <p>To read its own writes, a route remembers the position of the
+ * primary after its last write, and only reads from replicas that have
+ * replayed it.
+ *
+ * @since 1.0.0
+ */
+final class PgRoute {
+
+    /**
+     * Primary and replicas.
+     */
+    private final PgReplicas replicas;
+
+    /**
+     * Read own writes.
+     */
+    private final boolean own;
+
+    /**
+     * Position of the primary after last write.
+     */
+    private final AtomicLong written;
+
+    /**
+     * Ctor.
+     * @param replicas Primary and replicas
+     * @param own Read own writes
+     */
+    PgRoute(final PgReplicas replicas, final boolean own) {
+        this.replicas = replicas;
+        this.own = own;
+        this.written = new AtomicLong();
+    }
+
+    /**
+     * Data source to read from.
+     * @return Data source
+     */
+    public DataSource reading() {
+        return this.replicas.replica(this.written.get());
+    }
+
+    /**
+     * Data source to write to.
+     * @return Data source
+     */
+    public DataSource writing() {
+        return this.replicas.primary();
+    }
+
+    /**
+     * Notify a write on primary.
+     */
+    public void wrote() {
+        if (this.own) {
+            try {
+                final long lsn = new JdbcSession(this.replicas.primary())
+                    .sql(
+                        String.join(
+                            " ",
+                            "SELECT (pg_current_wal_insert_lsn()",
+                            "- '0/0'::pg_lsn)::bigint"
+                        )
+                    )
+                    .select(new SingleOutcome<>(Long.class));
+                this.written.accumulateAndGet(lsn, Math::max);
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgRoute while getting position of primary.",
+                    ex
+                );
+            }
+        }
+    }
+}
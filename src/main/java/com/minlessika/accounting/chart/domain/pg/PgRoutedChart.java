@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+/**
+ * Row of a chart reached through a route.
+ *
+ * <p>Snapshots of charts read from a replica write to the primary
+ * through it, and read the row again from the primary too.
+ *
+ * @since 1.0.0
+ */
+final class PgRoutedChart implements PgChartOrigin {
+
+    /**
+     * Route.
+     */
+    private final PgRoute route;
+
+    /**
+     * Unique identifier.
+     */
+    private final Long id;
+
+    /**
+     * Ctor.
+     * @param route Route
+     * @param number Number
+     */
+    PgRoutedChart(final PgRoute route, final Long number) {
+        this.route = route;
+        this.id = number;
+    }
+
+    @Override
+    public void activate(final boolean enable) {
+        new PgChart(this.route.writing(), this.id).activate(enable);
+        this.route.wrote();
+    }
+
+    @Override
+    public PgChartSnapshot snapshot() {
+        final PgChartSnapshot row =
+            new PgChart(this.route.writing(), this.id).snapshot();
+        return new PgChartSnapshot(
+            this, this.id, row.type(), row.version(), row.state()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PostgreSQL routed Chart with ID %s", this.id);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Charts whose reads go to replicas and writes to the primary.
+ *
+ * <p>Reads ({@link #iterate()}, {@link #size()} and {@link #get(Long)})
+ * go to a replica that lags no more than tolerated (see
+ * {@link PgReplicas}). Each of them is one query on one replica, and
+ * charts returned are already loaded (see {@link PgChartSnapshot}), so
+ * that a chart never mixes fields read at different positions. Writes
+ * ({@link #add(ChartType, String)}, {@link #remove(Long)} and
+ * activations) go to the primary, as do refreshes of charts.
+ *
+ * <p>These charts and the ones they return make a session: when built
+ * to read their own writes, they only read from replicas that have
+ * replayed their last write, or else from the primary.
+ *
+ * @since 1.0.0
+ */
+public final class PgRoutedCharts implements Charts {
+
+    /**
+     * Route.
+     */
+    private final PgRoute route;
+
+    /**
+     * Ctor.
+     * <p>Own writes may not be visible right away.
+     * @param replicas Primary and replicas
+     */
+    public PgRoutedCharts(final PgReplicas replicas) {
+        this(replicas, false);
+    }
+
+    /**
+     * Ctor.
+     * @param replicas Primary and replicas
+     * @param own Read own writes
+     */
+    public PgRoutedCharts(final PgReplicas replicas, final boolean own) {
+        this.route = new PgRoute(replicas, own);
+    }
+
+    @Override
+    public Iterable<Chart> iterate() {
+        return this.select("ORDER BY id ASC");
+    }
+
+    @Override
+    public Long size() {
+        return new PgCharts(this.route.reading()).size();
+    }
+
+    @Override
+    public Chart get(final Long number) {
+        final List<Chart> found = this.select("WHERE id=?", number);
+        if (found.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("Chart with ID=%s not found !", number)
+            );
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public Chart add(final ChartType type, final String version) {
+        final Chart chart =
+            new PgCharts(this.route.writing()).add(type, version);
+        this.route.wrote();
+        return new PgChartSnapshot(
+            new PgRoutedChart(this.route, chart.number()),
+            chart.number(), type, version, ChartState.ACTIVE
+        );
+    }
+
+    @Override
+    public void remove(final Long id) {
+        new PgCharts(this.route.writing()).remove(id);
+        this.route.wrote();
+    }
+
+    /**
+     * Activate or deactivate a set of charts at once.
+     * @param ids Charts IDs
+     * @param enable Enable
+     */
+    public void activate(final Collection<Long> ids, final boolean enable) {
+        new PgCharts(this.route.writing()).activate(ids, enable);
+        this.route.wrote();
+    }
+
+    /**
+     * Select charts from a replica.
+     * @param clause Rest of the query
+     * @param args Arguments of the clause
+     * @return Charts
+     */
+    private List<Chart> select(final String clause, final Object... args) {
+        try {
+            final JdbcSession session = new JdbcSession(this.route.reading())
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT id, type, state, version FROM accounting_chart",
+                        clause
+                    )
+                );
+            for (final Object arg : args) {
+                session.set(arg);
+            }
+            return new ArrayList<Chart>(
+                session.select(
+                    new ListOutcome<>(
+                        new PgChartMapping(id -> new PgRoutedChart(this.route, id))
+                    )
+                )
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                "Error on PgRoutedCharts while selecting.",
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import javax.sql.DataSource;
+
+/**
+ * Rows of accounts of a chart, optionally within an entity.
+ *
+ * <p>When the entity is given, queries only read its partition of the
+ * account table. Otherwise, they are answered by the (chart_id, code)
+ * index of every partition.
+ *
+ * @since 1.0.0
+ */
+final class PgScope {
+
+    /**
+     * SQL condition on account rows.
+     */
+    private final String condition;
+
+    /**
+     * SQL condition on the counter of accounts.
+     */
+    private final String counter;
+
+    /**
+     * SQL expression of the entity of the chart.
+     */
+    private final String owner;
+
+    /**
+     * Values of the condition, the first one being value of owner.
+     */
+    private final Object[] keys;
+
+    /**
+     * Chart ID.
+     */
+    private final Long chart;
+
+    /**
+     * Ctor.
+     * @param chart Chart ID
+     */
+    PgScope(final Long chart) {
+        this(
+            "chart_id=?",
+            "owner=?",
+            "(SELECT entity_id FROM accounting_chart WHERE id=?)",
+            new Object[]{chart},
+            chart
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param entity Entity ID
+     * @param chart Chart ID
+     */
+    PgScope(final Long entity, final Long chart) {
+        this(
+            "entity_id=? AND chart_id=?",
+            "entity_id=? AND owner=?",
+            "?",
+            new Object[]{entity, chart},
+            chart
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param condition SQL condition on account rows
+     * @param counter SQL condition on the counter of accounts
+     * @param owner SQL expression of the entity of the chart
+     * @param keys Values of the conditions
+     * @param chart Chart ID
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private PgScope(final String condition, final String counter,
+        final String owner, final Object[] keys, final Long chart) {
+        this.condition = condition;
+        this.counter = counter;
+        this.owner = owner;
+        this.keys = keys.clone();
+        this.chart = chart;
+    }
+
+    /**
+     * SQL condition on account rows.
+     * @return Condition
+     */
+    public String condition() {
+        return this.condition;
+    }
+
+    /**
+     * SQL condition on the counter of accounts.
+     * <p>It takes the same values as {@link #condition()}.
+     * @return Condition
+     */
+    public String counter() {
+        return this.counter;
+    }
+
+    /**
+     * SQL expression of the entity of the chart.
+     * <p>It takes one argument, see {@link #owned(JdbcSession)}.
+     * @return Expression
+     */
+    public String owner() {
+        return this.owner;
+    }
+
+    /**
+     * Chart ID.
+     * @return ID
+     */
+    public Long chart() {
+        return this.chart;
+    }
+
+    /**
+     * Set values of the condition.
+     * @param session Session
+     * @return Session
+     */
+    public JdbcSession bound(final JdbcSession session) {
+        for (final Object key : this.keys) {
+            session.set(key);
+        }
+        return session;
+    }
+
+    /**
+     * Set value of the owner expression.
+     * @param session Session
+     * @return Session
+     */
+    public JdbcSession owned(final JdbcSession session) {
+        return session.set(this.keys[0]);
+    }
+
+    /**
+     * Mapping of account rows, whose writes stay in the same scope.
+     * @param source Data source
+     * @return Mapping
+     */
+    public PgAccountMapping mapping(final DataSource source) {
+        final PgAccountMapping mapping;
+        if (this.keys.length > 1) {
+            mapping = new PgAccountMapping(source, (Long) this.keys[0]);
+        } else {
+            mapping = new PgAccountMapping(source);
+        }
+        return mapping;
+    }
+
+    /**
+     * Values of the condition followed by other values.
+     * @param more Other values
+     * @return Values
+     */
+    public Object[] args(final Object... more) {
+        final Object[] args = new Object[this.keys.length + more.length];
+        System.arraycopy(this.keys, 0, args, 0, this.keys.length);
+        System.arraycopy(more, 0, args, this.keys.length, more.length);
+        return args;
+    }
+
+    @Override
+    public String toString() {
+        final String text;
+        if (this.keys.length > 1) {
+            text = String.format(
+                "entity ID : %s, chart ID : %s", this.keys[0], this.chart
+            );
+        } else {
+            text = String.format("chart ID : %s", this.chart);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.StaticSource;
+import com.minlessika.accounting.chart.domain.api.Accounts;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+
+/**
+ * Unit of work on PostgreSQL.
+ *
+ * <p>All charts and accounts created from a session run on a single
+ * connection, in a single transaction that ends with {@link #commit()}
+ * or {@link #rollback()}. Closing the session rolls back what isn't
+ * committed and gives the connection back. A session isn't thread-safe:
+ * use it from one thread, in a try-with-resources block.
+ *
+ * @since 1.0.0
+ */
+public final class PgSession implements AutoCloseable {
+
+    /**
+     * Origin data source.
+     */
+    private final DataSource origin;
+
+    /**
+     * Connection, once opened.
+     */
+    private final AtomicReference<Connection> connection;
+
+    /**
+     * Data source bound to the connection, once opened.
+     */
+    private final AtomicReference<DataSource> bound;
+
+    /**
+     * Ctor.
+     * @param origin Origin data source
+     */
+    public PgSession(final DataSource origin) {
+        this.origin = origin;
+        this.connection = new AtomicReference<>();
+        this.bound = new AtomicReference<>();
+    }
+
+    /**
+     * Charts in this session.
+     * @return Charts
+     */
+    public Charts charts() {
+        return new PgCharts(this.source());
+    }
+
+    /**
+     * A chart in this session.
+     * @param number Chart ID
+     * @return Chart
+     */
+    public Chart chart(final Long number) {
+        return new PgChart(this.source(), number);
+    }
+
+    /**
+     * Accounts of a chart in this session.
+     * @param chart Chart ID
+     * @return Accounts
+     */
+    public Accounts accounts(final Long chart) {
+        return new PgAccounts(this.source(), chart);
+    }
+
+    /**
+     * Data source bound to this session.
+     * <p>Any object of this package built on it joins the session.
+     * @return Data source
+     */
+    public DataSource source() {
+        if (this.bound.get() == null) {
+            try {
+                final Connection conn = this.origin.getConnection();
+                conn.setAutoCommit(false);
+                this.connection.set(conn);
+                this.bound.set(
+                    new StaticSource(new PgSharedConnection(conn).connection())
+                );
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgSession while opening a connection.",
+                    ex
+                );
+            }
+        }
+        return this.bound.get();
+    }
+
+    /**
+     * Commit work done so far.
+     */
+    public void commit() {
+        final Connection conn = this.connection.get();
+        if (conn != null) {
+            try {
+                conn.commit();
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgSession while committing.",
+                    ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Discard work done since last commit.
+     */
+    public void rollback() {
+        final Connection conn = this.connection.get();
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgSession while rolling back.",
+                    ex
+                );
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        final Connection conn = this.connection.getAndSet(null);
+        this.bound.set(null);
+        if (conn != null) {
+            try (Connection closing = conn) {
+                closing.rollback();
+                closing.setAutoCommit(true);
+            } catch (final SQLException ex) {
+                throw new DatabaseException(
+                    "Error on PgSession while closing.",
+                    ex
+                );
+            }
+        }
+    }
+}
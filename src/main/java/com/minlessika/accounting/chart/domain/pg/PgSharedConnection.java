@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Connection shared by all statements of a {@link PgSession}.
+ *
+ * <p>Statements can't end the transaction or give the connection back:
+ * {@code close()}, {@code setAutoCommit()}, {@code commit()} and
+ * {@code rollback()} are ignored. Only the session does that, on the
+ * origin connection.
+ *
+ * @since 1.0.0
+ */
+final class PgSharedConnection implements InvocationHandler {
+
+    /**
+     * Origin.
+     */
+    private final Connection origin;
+
+    /**
+     * Ctor.
+     * @param origin Origin
+     */
+    PgSharedConnection(final Connection origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Connection to give to statements.
+     * @return Connection
+     */
+    public Connection connection() {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            this
+        );
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method,
+        final Object[] args) throws Throwable {
+        final String name = method.getName();
+        final Object result;
+        if ("close".equals(name) || "setAutoCommit".equals(name)
+            || method.getParameterCount() == 0
+            && ("commit".equals(name) || "rollback".equals(name))) {
+            result = null;
+        } else {
+            try {
+                result = method.invoke(this.origin, args);
+            } catch (final InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.ListOutcome;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.exceptions.DatabaseException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+
+/**
+ * Charts from PostgreSQL served as snapshots.
+ *
+ * <p>Unlike {@link PgCharts}, charts returned here are already loaded:
+ * {@link #iterate()} reads all rows in one statement and {@link #get(Long)}
+ * in one query, so reading them afterwards costs no round trip.
+ *
+ * @since 1.0.0
+ */
+public final class PgSnapshotCharts implements Charts {
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Origin.
+     */
+    private final Charts origin;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    public PgSnapshotCharts(final DataSource source) {
+        this.source = source;
+        this.origin = new PgCharts(source);
+    }
+
+    @Override
+    public Iterable<Chart> iterate() {
+        try {
+            return new ArrayList<Chart>(
+                new JdbcSession(this.source)
+                    .sql(
+                        String.join(
+                            " ",
+                            "SELECT id, type, state, version",
+                            "FROM accounting_chart ORDER BY id ASC"
+                        )
+                    )
+                    .select(new ListOutcome<>(new PgChartMapping(this.source)))
+            );
+        } catch (final SQLException ex) {
+            throw new DatabaseException(
+                "Error on PgSnapshotCharts while iterating.",
+                ex
+            );
+        }
+    }
+
+    @Override
+    public Long size() {
+        return this.origin.size();
+    }
+
+    @Override
+    public Chart get(final Long number) {
+        return new PgChart(this.source, number).snapshot();
+    }
+
+    @Override
+    public Chart add(final ChartType type, final String version) {
+        return new PgChartSnapshot(
+            this.source,
+            this.origin.add(type, version).number(),
+            type,
+            version,
+            ChartState.ACTIVE
+        );
+    }
+
+    @Override
+    public void remove(final Long id) {
+        this.origin.remove(id);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription to rows of a PostgreSQL cursor.
+ *
+ * <p>Requests and cancellation may come from any thread, but the cursor
+ * is only ever touched by one drain loop at a time. A request made from
+ * {@code onNext} only adds demand to the running loop, so the stack
+ * does not grow with the number of rows. Every signal to the subscriber
+ * is sent by that loop, including the failure of a bad request.
+ *
+ * @param <T> Type of item
+ * @since 1.0.0
+ */
+final class PgSubscription<T> implements Subscription {
+
+    /**
+     * Cursor.
+     */
+    private final PgCursor<T> cursor;
+
+    /**
+     * Subscriber.
+     */
+    private final Subscriber<? super T> subscriber;
+
+    /**
+     * Executor reading and emitting rows.
+     */
+    private final Executor executor;
+
+    /**
+     * Rows requested and not emitted yet.
+     */
+    private final AtomicLong demand;
+
+    /**
+     * Drain loops requested and not run yet.
+     */
+    private final AtomicInteger pending;
+
+    /**
+     * Is subscription cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Failure of a bad request, to signal.
+     */
+    private volatile IllegalArgumentException error;
+
+    /**
+     * Is subscription terminated.
+     */
+    private boolean done;
+
+    /**
+     * Open cursor.
+     */
+    private Stream<T> stream;
+
+    /**
+     * Rows of open cursor.
+     */
+    private Iterator<T> rows;
+
+    /**
+     * Ctor.
+     * @param cursor Cursor
+     * @param subscriber Subscriber
+     * @param executor Executor reading and emitting rows
+     */
+    PgSubscription(final PgCursor<T> cursor,
+        final Subscriber<? super T> subscriber, final Executor executor) {
+        this.cursor = cursor;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.demand = new AtomicLong();
+        this.pending = new AtomicInteger();
+    }
+
+    @Override
+    public void request(final long count) {
+        if (count <= 0L) {
+            this.error = new IllegalArgumentException(
+                String.format(
+                    "Requested %d rows, it should be positive !", count
+                )
+            );
+            this.cancelled = true;
+        } else {
+            long current;
+            long next;
+            do {
+                current = this.demand.get();
+                next = current + count;
+                if (next < 0L) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!this.demand.compareAndSet(current, next));
+        }
+        this.schedule();
+    }
+
+    @Override
+    public void cancel() {
+        this.cancelled = true;
+        this.schedule();
+    }
+
+    /**
+     * Run drain loop unless one is already running.
+     */
+    private void schedule() {
+        if (this.pending.getAndIncrement() == 0) {
+            try {
+                this.executor.execute(this::drain);
+            } catch (final RejectedExecutionException ex) {
+                this.cancelled = true;
+                this.pending.set(0);
+                this.subscriber.onError(ex);
+            }
+        }
+    }
+
+    /**
+     * Emit rows as long as there is demand.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!this.done) {
+                this.emit();
+            }
+            missed = this.pending.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Emit requested rows.
+     * <p>Cursor is closed whatever fails, be it the cursor or the
+     * subscriber. A subscriber throwing from {@code onNext} breaks rule
+     * 2.13 of Reactive Streams: its subscription is then cancelled and
+     * the failure signalled by {@code onError}, unless it is already
+     * terminated. A bad request cancels the subscription and its failure
+     * is signalled here too.
+     */
+    private void emit() {
+        boolean failed = true;
+        try {
+            if (!this.cancelled && this.rows == null) {
+                this.stream = this.cursor.stream();
+                this.rows = this.stream.iterator();
+            }
+            while (!this.cancelled && this.demand.get() > 0L) {
+                if (!this.rows.hasNext()) {
+                    this.close();
+                    this.subscriber.onComplete();
+                    break;
+                }
+                final T row = this.rows.next();
+                this.demand.decrementAndGet();
+                this.subscriber.onNext(row);
+            }
+            if (this.cancelled) {
+                this.close();
+                if (this.error != null) {
+                    this.subscriber.onError(this.error);
+                }
+            }
+            failed = false;
+        } catch (final RuntimeException ex) {
+            final boolean terminated = this.done;
+            this.cancelled = true;
+            this.close();
+            if (!terminated) {
+                this.subscriber.onError(ex);
+            }
+        } finally {
+            if (failed) {
+                this.cancelled = true;
+                this.close();
+            }
+        }
+    }
+
+    /**
+     * Close cursor.
+     */
+    private void close() {
+        this.done = true;
+        if (this.stream != null) {
+            this.stream.close();
+            this.stream = null;
+        }
+    }
+}
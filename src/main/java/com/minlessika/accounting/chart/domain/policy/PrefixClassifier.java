@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.policy;
+
+import com.minlessika.accounting.chart.domain.api.AccountCategory;
+import com.minlessika.accounting.chart.domain.api.Policy;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classifier of account codes by the prefixes of a policy.
+ *
+ * <p>Prefixes are compiled once into a trie over the code digits, held
+ * in flat arrays. A code is classified by a single walk down the trie,
+ * without allocation: the longest prefix matching wins. Codes that
+ * match no prefix are {@link AccountCategory#OTHER}. Empty prefixes are
+ * ignored. It is immutable, hence safe for use by many threads.
+ *
+ * @since 1.0.0
+ */
+public final class PrefixClassifier {
+
+    /**
+     * Number of digits.
+     */
+    private static final int DIGITS = 10;
+
+    /**
+     * Categories by ordinal.
+     */
+    private static final AccountCategory[] CATEGORIES =
+        AccountCategory.values();
+
+    /**
+     * Child node of each node by digit, 0 if none.
+     */
+    private final int[] children;
+
+    /**
+     * Category ordinal of each node plus one, 0 if none.
+     */
+    private final byte[] categories;
+
+    /**
+     * Ctor.
+     * @param policy Policy
+     * @throws IllegalArgumentException If a prefix is not made of digits
+     *  or is shared by two categories
+     */
+    public PrefixClassifier(final Policy policy) {
+        this(
+            new String[]{
+                policy.bankAccountCodePrefix(),
+                policy.cashAccountCodePrefix(),
+                policy.receivableAccountCodePrefix(),
+                policy.payableAccountCodePrefix(),
+            },
+            new AccountCategory[]{
+                AccountCategory.BANK,
+                AccountCategory.CASH,
+                AccountCategory.RECEIVABLE,
+                AccountCategory.PAYABLE,
+            }
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param prefixes Prefixes
+     * @param categories Category of each prefix
+     * @throws IllegalArgumentException If a prefix is not made of digits
+     *  or is shared by two categories
+     */
+    public PrefixClassifier(final String[] prefixes,
+        final AccountCategory[] categories) {
+        int size = 1;
+        for (final String prefix : prefixes) {
+            size += prefix.length();
+        }
+        final int[] nodes = new int[size * PrefixClassifier.DIGITS];
+        final byte[] cats = new byte[size];
+        int count = 1;
+        for (int idx = 0; idx < prefixes.length; ++idx) {
+            final String prefix = prefixes[idx];
+            if (prefix.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int pos = 0; pos < prefix.length(); ++pos) {
+                final int digit = PrefixClassifier.digit(prefix.charAt(pos));
+                if (digit < 0) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "Prefix %s should be made of digits !", prefix
+                        )
+                    );
+                }
+                final int slot = node * PrefixClassifier.DIGITS + digit;
+                if (nodes[slot] == 0) {
+                    nodes[slot] = count;
+                    count += 1;
+                }
+                node = nodes[slot];
+            }
+            final byte cat = (byte) (categories[idx].ordinal() + 1);
+            if (cats[node] != 0 && cats[node] != cat) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Prefix %s can't be both %s and %s !",
+                        prefix,
+                        PrefixClassifier.CATEGORIES[cats[node] - 1].name(),
+                        categories[idx].name()
+                    )
+                );
+            }
+            cats[node] = cat;
+        }
+        this.children = Arrays.copyOf(
+            nodes, count * PrefixClassifier.DIGITS
+        );
+        this.categories = Arrays.copyOf(cats, count);
+    }
+
+    /**
+     * Category of an account code.
+     * @param code Account code
+     * @return Category
+     */
+    public AccountCategory classify(final CharSequence code) {
+        int found = 0;
+        int node = 0;
+        for (int pos = 0; pos < code.length(); ++pos) {
+            final int digit = PrefixClassifier.digit(code.charAt(pos));
+            if (digit < 0) {
+                break;
+            }
+            node = this.children[node * PrefixClassifier.DIGITS + digit];
+            if (node == 0) {
+                break;
+            }
+            if (this.categories[node] != 0) {
+                found = this.categories[node];
+            }
+        }
+        final AccountCategory category;
+        if (found == 0) {
+            category = AccountCategory.OTHER;
+        } else {
+            category = PrefixClassifier.CATEGORIES[found - 1];
+        }
+        return category;
+    }
+
+    /**
+     * Categories of a batch of account codes.
+     * <p>Codes are classified in parallel on the common fork-join pool.
+     * @param codes Account codes, in a random access list
+     * @return Category of each code, in the same order
+     */
+    public AccountCategory[] classify(final List<? extends CharSequence> codes) {
+        final AccountCategory[] result = new AccountCategory[codes.size()];
+        Arrays.parallelSetAll(result, idx -> this.classify(codes.get(idx)));
+        return result;
+    }
+
+    /**
+     * Digit of a character.
+     * @param chr Character
+     * @return Digit, negative if not a digit
+     */
+    private static int digit(final char chr) {
+        final int digit;
+        if (chr >= '0' && chr <= '9') {
+            digit = chr - '0';
+        } else {
+            digit = -1;
+        }
+        return digit;
+    }
+}
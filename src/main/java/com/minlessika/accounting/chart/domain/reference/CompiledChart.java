@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.reference;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reference chart compiled to the format read by {@link ReferenceChart}.
+ *
+ * <p>The format is made of:
+ * <ul>
+ *  <li>magic number {@code ACRF}, format version and number of accounts
+ *   on four bytes each;</li>
+ *  <li>the index: offset of each account, ordered by code, on four
+ *   bytes each;</li>
+ *  <li>chart type and version as texts;</li>
+ *  <li>each account: code and name as texts, then a byte of flags (1 if
+ *   reconciliation is allowed).</li>
+ * </ul>
+ * Integers are big-endian, texts are UTF-8 prefixed by their length in
+ * bytes on two bytes. Codes are ordered byte by byte, as in the
+ * {@code "C"} collation of the database.
+ *
+ * @since 1.0.0
+ */
+public final class CompiledChart {
+
+    /**
+     * Magic number.
+     */
+    static final int MAGIC = 0x41435246;
+
+    /**
+     * Format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Flag of reconciliation allowed.
+     */
+    static final int RECONCILIATION = 1;
+
+    /**
+     * Chart type.
+     */
+    private final ChartType type;
+
+    /**
+     * Version.
+     */
+    private final String version;
+
+    /**
+     * Accounts.
+     */
+    private final Iterable<? extends Account> accounts;
+
+    /**
+     * Ctor.
+     * @param type Chart type
+     * @param version Version
+     * @param accounts Accounts
+     */
+    public CompiledChart(final ChartType type, final String version,
+        final Iterable<? extends Account> accounts) {
+        this.type = type;
+        this.version = version;
+        this.accounts = accounts;
+    }
+
+    /**
+     * Write compiled chart to channel.
+     * <p>The channel is left open.
+     * @param channel Channel
+     * @throws IllegalArgumentException If two accounts have same code
+     */
+    public void write(final WritableByteChannel channel) {
+        final List<byte[][]> rows = new ArrayList<>(0);
+        final List<Boolean> flags = new ArrayList<>(0);
+        for (final Account account : this.accounts) {
+            rows.add(
+                new byte[][]{
+                    account.code().getBytes(StandardCharsets.UTF_8),
+                    account.name().getBytes(StandardCharsets.UTF_8),
+                }
+            );
+            flags.add(account.isReconciliationAllowed());
+        }
+        final List<Integer> order = new ArrayList<>(rows.size());
+        for (int idx = 0; idx < rows.size(); ++idx) {
+            order.add(idx);
+        }
+        order.sort(
+            (left, right) -> CompiledChart.compare(
+                rows.get(left)[0], rows.get(right)[0]
+            )
+        );
+        final byte[] kind = this.type.name().getBytes(StandardCharsets.UTF_8);
+        final byte[] ver = this.version.getBytes(StandardCharsets.UTF_8);
+        int size = Integer.BYTES * (3 + rows.size())
+            + Short.BYTES * 2 + kind.length + ver.length;
+        for (final byte[][] row : rows) {
+            size += Short.BYTES * 2 + row[0].length + row[1].length + 1;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(CompiledChart.MAGIC)
+            .putInt(CompiledChart.VERSION)
+            .putInt(rows.size());
+        final int index = buffer.position();
+        buffer.position(index + Integer.BYTES * rows.size());
+        CompiledChart.text(buffer, kind);
+        CompiledChart.text(buffer, ver);
+        for (int pos = 0; pos < order.size(); ++pos) {
+            final int idx = order.get(pos);
+            final byte[][] row = rows.get(idx);
+            if (pos > 0
+                && CompiledChart.compare(row[0], rows.get(order.get(pos - 1))[0])
+                == 0) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "Account with code=%s already exists !",
+                        new String(row[0], StandardCharsets.UTF_8)
+                    )
+                );
+            }
+            buffer.putInt(index + Integer.BYTES * pos, buffer.position());
+            CompiledChart.text(buffer, row[0]);
+            CompiledChart.text(buffer, row[1]);
+            if (flags.get(idx)) {
+                buffer.put((byte) CompiledChart.RECONCILIATION);
+            } else {
+                buffer.put((byte) 0);
+            }
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Compare two UTF-8 texts byte by byte.
+     * @param left Left text
+     * @param right Right text
+     * @return Comparison
+     */
+    private static int compare(final byte[] left, final byte[] right) {
+        final int min = Math.min(left.length, right.length);
+        int result = 0;
+        for (int idx = 0; idx < min && result == 0; ++idx) {
+            result = Integer.compare(left[idx] & 0xFF, right[idx] & 0xFF);
+        }
+        if (result == 0) {
+            result = Integer.compare(left.length, right.length);
+        }
+        return result;
+    }
+
+    /**
+     * Put a text.
+     * @param buffer Buffer
+     * @param text UTF-8 text
+     */
+    private static void text(final ByteBuffer buffer, final byte[] text) {
+        if (text.length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                "Text too long for a reference chart !"
+            );
+        }
+        buffer.putShort((short) text.length).put(text);
+    }
+}
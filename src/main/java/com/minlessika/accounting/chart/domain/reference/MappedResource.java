@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.reference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Classpath resource mapped in memory.
+ *
+ * <p>A resource packed in a jar can't be mapped as is, so it is copied
+ * once to a temporary file first.
+ *
+ * @since 1.0.0
+ */
+final class MappedResource {
+
+    /**
+     * Resource name.
+     */
+    private final String name;
+
+    /**
+     * Ctor.
+     * @param name Resource name
+     */
+    MappedResource(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Read-only buffer mapped on the resource.
+     * @return Buffer
+     * @throws IllegalArgumentException If resource is not found
+     */
+    public ByteBuffer buffer() {
+        final URL url = MappedResource.class.getResource(this.name);
+        if (url == null) {
+            throw new IllegalArgumentException(
+                String.format("Resource %s not found !", this.name)
+            );
+        }
+        try {
+            final Path path;
+            if ("file".equals(url.getProtocol())) {
+                path = Paths.get(url.toURI());
+            } else {
+                path = Files.createTempFile("reference", ".chart");
+                path.toFile().deleteOnExit();
+                try (InputStream input = url.openStream()) {
+                    Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(path)) {
+                return channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (final URISyntaxException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+}
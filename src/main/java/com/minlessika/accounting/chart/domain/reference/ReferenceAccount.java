@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.reference;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+
+/**
+ * Account of a reference chart.
+ *
+ * <p>It is read-only: a reference chart is shared by everyone.
+ *
+ * @since 1.0.0
+ */
+public final class ReferenceAccount implements Account {
+
+    /**
+     * Code.
+     */
+    private final String code;
+
+    /**
+     * Name.
+     */
+    private final String name;
+
+    /**
+     * Is reconciliation allowed.
+     */
+    private final boolean reconciliation;
+
+    /**
+     * Ctor.
+     * @param code Code
+     * @param name Name
+     * @param reconciliation Is reconciliation allowed
+     */
+    public ReferenceAccount(final String code, final String name,
+        final boolean reconciliation) {
+        this.code = code;
+        this.name = name;
+        this.reconciliation = reconciliation;
+    }
+
+    @Override
+    public String code() {
+        return this.code;
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    @Override
+    public boolean isReconciliationAllowed() {
+        return this.reconciliation;
+    }
+
+    @Override
+    public boolean isDeprecated() {
+        return false;
+    }
+
+    @Override
+    public void update(final String ncode, final String nname) {
+        throw new UnsupportedOperationException(
+            "Reference account can't be updated !"
+        );
+    }
+
+    @Override
+    public void depreciate(final boolean enable) {
+        throw new UnsupportedOperationException(
+            "Reference account can't be depreciated !"
+        );
+    }
+
+    @Override
+    public void allowReconciliation(final boolean enable) {
+        throw new UnsupportedOperationException(
+            "Reference account can't be updated !"
+        );
+    }
+
+    @Override
+    public void clone(final String ncode, final String nname) {
+        throw new UnsupportedOperationException(
+            "Reference account can't be cloned in its chart !"
+        );
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.reference;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reference chart read from its compiled form.
+ *
+ * <p>Accounts are decoded on demand from the buffer, which is usually
+ * memory-mapped, so opening a chart costs nothing and lookups never
+ * touch the database. A code is found by binary search over the index,
+ * in O(log n). It is safe for use by many threads: the buffer is only
+ * read at absolute positions. See {@link CompiledChart} for the format.
+ *
+ * @since 1.0.0
+ */
+public final class ReferenceChart implements Iterable<Account> {
+
+    /**
+     * Offset of index.
+     */
+    private static final int INDEX = Integer.BYTES * 3;
+
+    /**
+     * Compiled chart.
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Ctor.
+     * @param data Compiled chart
+     * @throws IllegalArgumentException If data is not a compiled chart
+     */
+    public ReferenceChart(final ByteBuffer data) {
+        if (data.getInt(0) != CompiledChart.MAGIC
+            || data.getInt(Integer.BYTES) != CompiledChart.VERSION) {
+            throw new IllegalArgumentException(
+                "Content is not a compiled reference chart !"
+            );
+        }
+        this.data = data;
+    }
+
+    /**
+     * Chart type.
+     * @return Type
+     */
+    public ChartType type() {
+        return ChartType.valueOf(this.text(this.header()));
+    }
+
+    /**
+     * Version.
+     * @return Version
+     */
+    public String version() {
+        final int offset = this.header();
+        return this.text(offset + Short.BYTES + this.length(offset));
+    }
+
+    /**
+     * Number of accounts.
+     * @return Number
+     */
+    public int size() {
+        return this.data.getInt(Integer.BYTES * 2);
+    }
+
+    /**
+     * Has account.
+     * @param code Code
+     * @return Yes or no
+     */
+    public boolean contains(final String code) {
+        return this.search(code) >= 0;
+    }
+
+    /**
+     * Get account by its code.
+     * @param code Code
+     * @return Account
+     * @throws IllegalArgumentException If not found
+     */
+    public Account get(final String code) {
+        final int pos = this.search(code);
+        if (pos < 0) {
+            throw new IllegalArgumentException(
+                String.format("Account with code=%s not found !", code)
+            );
+        }
+        return this.account(pos);
+    }
+
+    /**
+     * Accounts whose code starts with a prefix.
+     * <p>Ordered by code ascending. The account whose code is the prefix
+     * itself is included. The first one is found by binary search.
+     * @param prefix Code prefix
+     * @return Accounts
+     */
+    public Iterable<Account> prefixed(final String prefix) {
+        final byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        final List<Account> accounts = new ArrayList<>(0);
+        for (int pos = this.lower(key);
+            pos < this.size() && this.starts(this.offset(pos), key);
+            ++pos) {
+            accounts.add(this.account(pos));
+        }
+        return accounts;
+    }
+
+    /**
+     * Iterate accounts ordered by code.
+     * @return Iterator
+     */
+    @Override
+    public Iterator<Account> iterator() {
+        return new Iterator<Account>() {
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return this.pos < ReferenceChart.this.size();
+            }
+
+            @Override
+            public Account next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException(
+                        "No more account in reference chart !"
+                    );
+                }
+                final Account account = ReferenceChart.this.account(this.pos);
+                this.pos += 1;
+                return account;
+            }
+        };
+    }
+
+    /**
+     * Account at a position of the index.
+     * @param pos Position
+     * @return Account
+     */
+    private Account account(final int pos) {
+        final int offset = this.offset(pos);
+        final int name = offset + Short.BYTES + this.length(offset);
+        return new ReferenceAccount(
+            this.text(offset),
+            this.text(name),
+            (this.data.get(name + Short.BYTES + this.length(name))
+                & CompiledChart.RECONCILIATION) != 0
+        );
+    }
+
+    /**
+     * Search position of a code in the index.
+     * @param code Code
+     * @return Position, negative if not found
+     */
+    private int search(final String code) {
+        final byte[] key = code.getBytes(StandardCharsets.UTF_8);
+        final int pos = this.lower(key);
+        final int found;
+        if (pos < this.size() && this.compare(this.offset(pos), key) == 0) {
+            found = pos;
+        } else {
+            found = -1;
+        }
+        return found;
+    }
+
+    /**
+     * First position in the index whose code is not less than a key.
+     * @param key UTF-8 key
+     * @return Position, size if there is none
+     */
+    private int lower(final byte[] key) {
+        int low = 0;
+        int high = this.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (this.compare(this.offset(mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Does text at an offset start with a prefix.
+     * @param offset Offset of text
+     * @param prefix UTF-8 prefix
+     * @return Yes or no
+     */
+    private boolean starts(final int offset, final byte[] prefix) {
+        boolean starts = this.length(offset) >= prefix.length;
+        for (int idx = 0; idx < prefix.length && starts; ++idx) {
+            starts = this.data.get(offset + Short.BYTES + idx) == prefix[idx];
+        }
+        return starts;
+    }
+
+    /**
+     * Compare text at an offset with a key, byte by byte.
+     * @param offset Offset of text
+     * @param key UTF-8 key
+     * @return Comparison
+     */
+    private int compare(final int offset, final byte[] key) {
+        final int length = this.length(offset);
+        final int min = Math.min(length, key.length);
+        int result = 0;
+        for (int idx = 0; idx < min && result == 0; ++idx) {
+            result = Integer.compare(
+                this.data.get(offset + Short.BYTES + idx) & 0xFF,
+                key[idx] & 0xFF
+            );
+        }
+        if (result == 0) {
+            result = Integer.compare(length, key.length);
+        }
+        return result;
+    }
+
+    /**
+     * Offset of chart type and version.
+     * @return Offset
+     */
+    private int header() {
+        return ReferenceChart.INDEX + Integer.BYTES * this.size();
+    }
+
+    /**
+     * Offset of account at a position of the index.
+     * @param pos Position
+     * @return Offset
+     */
+    private int offset(final int pos) {
+        return this.data.getInt(ReferenceChart.INDEX + Integer.BYTES * pos);
+    }
+
+    /**
+     * Length in bytes of text at an offset.
+     * @param offset Offset
+     * @return Length
+     */
+    private int length(final int offset) {
+        return this.data.getShort(offset) & 0xFFFF;
+    }
+
+    /**
+     * Text at an offset.
+     * @param offset Offset
+     * @return Text
+     */
+    private String text(final int offset) {
+        final byte[] bytes = new byte[this.length(offset)];
+        final ByteBuffer view = this.data.duplicate();
+        view.position(offset + Short.BYTES);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.async.tests;
+
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.async.AsyncChart;
+import com.minlessika.accounting.chart.domain.async.AsyncCharts;
+import com.minlessika.accounting.chart.domain.async.JdbcExecutor;
+import com.minlessika.accounting.chart.domain.pg.PgSnapshotCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link AsyncCharts}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class AsyncChartsTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018'),",
+                    "('SYSCOHADA', 'INACTIVE', '2001');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void getsAchartWithoutBlocking() throws Exception {
+        try (JdbcExecutor executor = new JdbcExecutor(4)) {
+            final AsyncChart chart = new AsyncCharts(
+                new PgSnapshotCharts(source), executor
+            ).get(2L).get();
+            MatcherAssert.assertThat(
+                chart.version().get(),
+                Matchers.equalTo("2001")
+            );
+            MatcherAssert.assertThat(
+                chart.state().get(),
+                Matchers.equalTo(ChartState.INACTIVE)
+            );
+        }
+    }
+
+    @Test
+    public void addsAndIteratesCharts() throws Exception {
+        try (JdbcExecutor executor = new JdbcExecutor(4)) {
+            final AsyncCharts charts = new AsyncCharts(
+                new PgSnapshotCharts(source), executor
+            );
+            final Long id = charts.add(ChartType.SYSCOHADA, "2040")
+                .get().number();
+            MatcherAssert.assertThat(
+                charts.iterate().get().stream()
+                    .anyMatch(chart -> chart.number().equals(id)),
+                Matchers.is(true)
+            );
+            charts.remove(id).get();
+            MatcherAssert.assertThat(
+                charts.iterate().get().stream()
+                    .anyMatch(chart -> chart.number().equals(id)),
+                Matchers.is(false)
+            );
+        }
+    }
+
+    @Test
+    public void failsFutureWhenChartNotFound() throws Exception {
+        try (JdbcExecutor executor = new JdbcExecutor(4)) {
+            this.thrown.expect(ExecutionException.class);
+            this.thrown.expectCause(
+                Matchers.instanceOf(IllegalArgumentException.class)
+            );
+            new AsyncCharts(new PgSnapshotCharts(source), executor)
+                .get(50L).get();
+        }
+    }
+
+    @Test
+    public void rejectsCallsWhenSaturated() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        try (
+            JdbcExecutor executor = new JdbcExecutor(
+                Executors.newFixedThreadPool(1), 1
+            )
+        ) {
+            executor.execute(
+                () -> {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            );
+            final CompletableFuture<Long> size = new AsyncCharts(
+                new PgSnapshotCharts(source), executor
+            ).size();
+            release.countDown();
+            MatcherAssert.assertThat(
+                size.isCompletedExceptionally(),
+                Matchers.is(true)
+            );
+            this.thrown.expectCause(
+                Matchers.instanceOf(RejectedExecutionException.class)
+            );
+            size.get();
+        }
+    }
+
+    @Test
+    public void releasesSlotsOnceCallsComplete() throws Exception {
+        try (JdbcExecutor executor = new JdbcExecutor(2)) {
+            final AsyncCharts charts = new AsyncCharts(
+                new PgSnapshotCharts(source), executor
+            );
+            for (int idx = 0; idx < 10; ++idx) {
+                charts.size().get();
+            }
+            MatcherAssert.assertThat(
+                charts.size().get(),
+                Matchers.greaterThanOrEqualTo(2L)
+            );
+        }
+    }
+}
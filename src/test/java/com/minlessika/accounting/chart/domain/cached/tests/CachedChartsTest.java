@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.cached.CachedCharts;
+import com.minlessika.accounting.chart.domain.cached.ExpiringCache;
+import com.minlessika.accounting.chart.domain.pg.PgSnapshotCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link CachedCharts}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class CachedChartsTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018'),",
+                    "('SYSCOHADA', 'ACTIVE', '2019');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void readChartFromCacheOnSecondGet() {
+        final ExpiringCache<Long, Chart> cache =
+            new ExpiringCache<>(10, 1L, TimeUnit.MINUTES);
+        final Charts charts =
+            new CachedCharts(new PgSnapshotCharts(source), cache);
+        MatcherAssert.assertThat(
+            charts.get(1L).version(),
+            Matchers.equalTo("2018")
+        );
+        MatcherAssert.assertThat(
+            charts.get(1L).name(),
+            Matchers.equalTo("Plan comptable SYSCOHADA révisé version 2018")
+        );
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(3L));
+    }
+
+    @Test
+    public void readListedChartsFromCache() {
+        final ExpiringCache<Long, Chart> cache =
+            new ExpiringCache<>(10, 1L, TimeUnit.MINUTES);
+        final Charts charts =
+            new CachedCharts(new PgSnapshotCharts(source), cache);
+        for (final Chart chart : charts.iterate()) {
+            chart.name();
+        }
+        MatcherAssert.assertThat(
+            charts.get(2L).version(),
+            Matchers.equalTo("2019")
+        );
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    public void invalidateChartOnActivate() {
+        final Charts charts = new CachedCharts(
+            new PgSnapshotCharts(source), 10, 1L, TimeUnit.MINUTES
+        );
+        final Chart chart = charts.get(2L);
+        chart.activate(true);
+        MatcherAssert.assertThat(
+            chart.state(),
+            Matchers.equalTo(ChartState.ACTIVE)
+        );
+        chart.activate(false);
+        MatcherAssert.assertThat(
+            charts.get(2L).state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+    }
+
+    @Test
+    public void activateCopyReadFromCache() {
+        final ExpiringCache<Long, Chart> cache =
+            new ExpiringCache<>(10, 1L, TimeUnit.MINUTES);
+        final Charts charts =
+            new CachedCharts(new PgSnapshotCharts(source), cache);
+        charts.get(1L).activate(true);
+        charts.get(1L);
+        final Chart copy = cache.get(
+            1L,
+            id -> {
+                throw new IllegalStateException("Chart should be cached");
+            }
+        );
+        copy.activate(false);
+        MatcherAssert.assertThat(
+            charts.get(1L).state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+        charts.get(1L).activate(true);
+    }
+
+    @Test
+    public void invalidateChartOnRemove() {
+        final Charts charts = new CachedCharts(
+            new PgSnapshotCharts(source), 10, 1L, TimeUnit.MINUTES
+        );
+        final Chart chart = charts.add(ChartType.SYSCOHADA, "2040");
+        MatcherAssert.assertThat(
+            charts.get(chart.number()).version(),
+            Matchers.equalTo("2040")
+        );
+        charts.remove(chart.number());
+        this.thrown.expect(IllegalArgumentException.class);
+        charts.get(chart.number());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.cached.tests;
+
+import com.minlessika.accounting.chart.domain.cached.ExpiringCache;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ExpiringCache}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public class ExpiringCacheTest {
+
+    @Test
+    public void loadOnceThenHit() {
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(10, 100L, () -> 0L);
+        final AtomicLong loads = new AtomicLong();
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                cache.get(
+                    1L,
+                    key -> String.format("%s-%s", key, loads.incrementAndGet())
+                ),
+                Matchers.equalTo("1-1")
+            );
+        }
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedOverCapacity() {
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(2, 100L, () -> 0L);
+        cache.get(1L, key -> "one");
+        cache.get(2L, key -> "two");
+        cache.get(1L, key -> "one");
+        cache.get(3L, key -> "three");
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(cache.evictions(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "reloaded"),
+            Matchers.equalTo("one")
+        );
+        MatcherAssert.assertThat(
+            cache.get(2L, key -> "reloaded"),
+            Matchers.equalTo("reloaded")
+        );
+    }
+
+    @Test
+    public void evictExpiredEntries() {
+        final AtomicLong clock = new AtomicLong();
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(10, 100L, clock::get);
+        cache.get(1L, key -> "first");
+        clock.set(99L);
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "second"),
+            Matchers.equalTo("first")
+        );
+        clock.set(100L);
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "second"),
+            Matchers.equalTo("second")
+        );
+        MatcherAssert.assertThat(cache.evictions(), Matchers.equalTo(1L));
+    }
+
+    @Test
+    public void dropInvalidatedEntries() {
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(10, 100L, () -> 0L);
+        cache.get(1L, key -> "first");
+        cache.invalidate(1L);
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "second"),
+            Matchers.equalTo("second")
+        );
+        cache.invalidateAll();
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+
+    @Test
+    public void doNotStoreValueLoadedDuringInvalidation() {
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(10, 100L, () -> 0L);
+        cache.get(
+            1L,
+            key -> {
+                cache.invalidate(key);
+                return "stale";
+            }
+        );
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "fresh"),
+            Matchers.equalTo("fresh")
+        );
+    }
+
+    @Test
+    public void storeValuesLoadedTogether() {
+        final ExpiringCache<Long, String> cache =
+            new ExpiringCache<>(10, 100L, () -> 0L);
+        cache.get(1L, key -> "old");
+        final Map<Long, String> values = new LinkedHashMap<>(0);
+        values.put(1L, "one");
+        values.put(2L, "two");
+        cache.load(() -> values);
+        MatcherAssert.assertThat(
+            cache.get(1L, key -> "reloaded"),
+            Matchers.equalTo("one")
+        );
+        MatcherAssert.assertThat(
+            cache.get(2L, key -> "reloaded"),
+            Matchers.equalTo("two")
+        );
+        cache.load(
+            () -> {
+                cache.invalidate(2L);
+                return Collections.singletonMap(2L, "stale");
+            }
+        );
+        MatcherAssert.assertThat(
+            cache.get(2L, key -> "fresh"),
+            Matchers.equalTo("fresh")
+        );
+    }
+}
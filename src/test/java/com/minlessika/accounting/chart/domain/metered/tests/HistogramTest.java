@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered.tests;
+
+import com.minlessika.accounting.chart.domain.metered.Histogram;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Histogram}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public class HistogramTest {
+
+    @Test
+    public void countAndAverageDurations() {
+        final Histogram histogram = new Histogram();
+        histogram.record(1000L);
+        histogram.record(3000L);
+        MatcherAssert.assertThat(histogram.count(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(
+            histogram.mean(TimeUnit.MICROSECONDS),
+            Matchers.closeTo(2.0, 0.001)
+        );
+        MatcherAssert.assertThat(
+            histogram.max(TimeUnit.MICROSECONDS),
+            Matchers.closeTo(3.0, 0.001)
+        );
+    }
+
+    @Test
+    public void boundPercentilesWithinFactorOfTwo() {
+        final Histogram histogram = new Histogram();
+        for (int idx = 0; idx < 99; idx += 1) {
+            histogram.record(1000L);
+        }
+        histogram.record(1_000_000L);
+        MatcherAssert.assertThat(
+            histogram.percentile(0.5, TimeUnit.NANOSECONDS),
+            Matchers.allOf(
+                Matchers.greaterThanOrEqualTo(1000.0),
+                Matchers.lessThan(2000.0)
+            )
+        );
+        MatcherAssert.assertThat(
+            histogram.percentile(1.0, TimeUnit.NANOSECONDS),
+            Matchers.closeTo(1_000_000.0, 0.001)
+        );
+    }
+
+    @Test
+    public void reportZeroWhenEmpty() {
+        final Histogram histogram = new Histogram();
+        MatcherAssert.assertThat(
+            histogram.percentile(0.99, TimeUnit.MILLISECONDS),
+            Matchers.closeTo(0.0, 0.001)
+        );
+        MatcherAssert.assertThat(
+            histogram.mean(TimeUnit.MILLISECONDS),
+            Matchers.closeTo(0.0, 0.001)
+        );
+    }
+}
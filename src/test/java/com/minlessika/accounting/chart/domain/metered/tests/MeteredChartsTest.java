@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.metered.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.metered.CountingDataSource;
+import com.minlessika.accounting.chart.domain.metered.JmxMetrics;
+import com.minlessika.accounting.chart.domain.metered.MeteredCharts;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MeteredCharts}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class MeteredChartsTest {
+
+    /**
+     * Data source.
+     */
+    private static CountingDataSource source;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new CountingDataSource(new EmbeddedPostgreSQLDataSource());
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void recordCallsAndStatementsOfEachMethod() {
+        final JmxMetrics metrics = new JmxMetrics(
+            "calls", MBeanServerFactory.newMBeanServer()
+        );
+        final Charts charts = new MeteredCharts(
+            new PgCharts(source), metrics, source::statements
+        );
+        final Chart chart = charts.get(1L);
+        chart.type();
+        chart.type();
+        MatcherAssert.assertThat(
+            metrics.method("Charts.get").getCalls(),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            metrics.method("Chart.type").getCalls(),
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            metrics.method("Chart.type").getStatements(),
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            metrics.method("Chart.type").getMaxMillis(),
+            Matchers.greaterThan(0.0)
+        );
+    }
+
+    @Test
+    public void recordErrors() {
+        final JmxMetrics metrics = new JmxMetrics(
+            "errors", MBeanServerFactory.newMBeanServer()
+        );
+        final Charts charts = new MeteredCharts(new PgCharts(source), metrics);
+        try {
+            charts.get(100L);
+        } catch (final IllegalArgumentException ex) {
+            MatcherAssert.assertThat(
+                metrics.method("Charts.get").getErrors(),
+                Matchers.equalTo(1L)
+            );
+        }
+        MatcherAssert.assertThat(
+            metrics.method("Charts.get").getCalls(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    @Test
+    public void exposeMetricsThroughJmx() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        new MeteredCharts(
+            new PgCharts(source), new JmxMetrics("jmx", server)
+        ).size();
+        MatcherAssert.assertThat(
+            server.getAttribute(
+                new ObjectName(
+                    String.format(
+                        "com.minlessika.accounting.chart:type=%s,name=%s",
+                        ObjectName.quote("jmx"),
+                        ObjectName.quote("Charts.size")
+                    )
+                ),
+                "Calls"
+            ),
+            Matchers.equalTo(1L)
+        );
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.metered.CountingDataSource;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.Matchers;
+import org.hamcrest.TypeSafeMatcher;
+
+/**
+ * Matcher of the number of queries a block of code issues.
+ *
+ * <p>It runs the block and counts SQL statements executed and
+ * connections borrowed (each one a round trip at least) on the given
+ * data source, in current thread, like:
+ *
+ * <pre>
+ * MatcherAssert.assertThat(
+ *     () -> charts.iterate(),
+ *     new IssuesQueries(source, Matchers.lessThanOrEqualTo(1L))
+ * );
+ * </pre>
+ *
+ * <p>The block runs once: its counts are kept to describe a mismatch.
+ *
+ * @since 1.0.0
+ */
+public final class IssuesQueries extends TypeSafeMatcher<Runnable> {
+
+    /**
+     * Data source.
+     */
+    private final CountingDataSource source;
+
+    /**
+     * Expected number of statements.
+     */
+    private final Matcher<Long> statements;
+
+    /**
+     * Expected number of connections.
+     */
+    private final Matcher<Long> connections;
+
+    /**
+     * Number of statements executed by the block.
+     */
+    private final AtomicLong executed;
+
+    /**
+     * Number of connections borrowed by the block.
+     */
+    private final AtomicLong borrowed;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param statements Expected number of statements
+     */
+    public IssuesQueries(final CountingDataSource source,
+        final Matcher<Long> statements) {
+        this(source, statements, Matchers.any(Long.class));
+    }
+
+    /**
+     * Ctor.
+     * @param source Data source
+     * @param statements Expected number of statements
+     * @param connections Expected number of connections
+     */
+    public IssuesQueries(final CountingDataSource source,
+        final Matcher<Long> statements, final Matcher<Long> connections) {
+        super();
+        this.source = source;
+        this.statements = statements;
+        this.connections = connections;
+        this.executed = new AtomicLong();
+        this.borrowed = new AtomicLong();
+    }
+
+    @Override
+    public void describeTo(final Description description) {
+        description
+            .appendText("a block that executes ")
+            .appendDescriptionOf(this.statements)
+            .appendText(" statements on ")
+            .appendDescriptionOf(this.connections)
+            .appendText(" connections");
+    }
+
+    @Override
+    protected boolean matchesSafely(final Runnable block) {
+        final long sql = this.source.statements();
+        final long conn = this.source.connections();
+        block.run();
+        this.executed.set(this.source.statements() - sql);
+        this.borrowed.set(this.source.connections() - conn);
+        return this.statements.matches(this.executed.get())
+            && this.connections.matches(this.borrowed.get());
+    }
+
+    @Override
+    protected void describeMismatchSafely(final Runnable block,
+        final Description mismatch) {
+        mismatch
+            .appendText("executed ")
+            .appendValue(this.executed.get())
+            .appendText(" statements on ")
+            .appendValue(this.borrowed.get())
+            .appendText(" connections");
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.Accounts;
+import com.minlessika.accounting.chart.domain.pg.PgAccount;
+import com.minlessika.accounting.chart.domain.pg.PgAccountSnapshot;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PgAccount}.
+ * @since 1.0.0
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgAccountTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018');"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "VALUES (1, '521', 'Banques locales'),",
+                    "(1, '571', 'Caisse siège social');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void givenAccountWhenAskForCodeAndNameThenReturnThem() {
+        final Account account = new PgAccount(source, 1L);
+        MatcherAssert.assertThat(
+            account.code(),
+            Matchers.equalTo("521")
+        );
+        MatcherAssert.assertThat(
+            account.name(),
+            Matchers.equalTo("Banques locales")
+        );
+    }
+
+    @Test
+    public void givenAccountWhenAllowReconciliationThenReturnAllowed() {
+        final Account account = new PgAccount(source, 1L);
+        account.allowReconciliation(true);
+        MatcherAssert.assertThat(
+            account.isReconciliationAllowed(),
+            Matchers.is(true)
+        );
+        account.allowReconciliation(false);
+        MatcherAssert.assertThat(
+            account.isReconciliationAllowed(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    public void givenAccountWhenDepreciateThenSnapshotIsRefreshed() {
+        final PgAccountSnapshot snapshot = new PgAccount(source, 2L).snapshot();
+        snapshot.depreciate(true);
+        MatcherAssert.assertThat(snapshot.isDeprecated(), Matchers.is(false));
+        MatcherAssert.assertThat(
+            snapshot.refresh().isDeprecated(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    public void givenAccountWhenCloneThenNewAccountHasSameFlags() {
+        final Account account = new PgAccount(source, 1L);
+        account.allowReconciliation(true);
+        account.clone("5211", "Banques en monnaie nationale");
+        final Accounts accounts = new PgAccounts(source, 1L);
+        MatcherAssert.assertThat(
+            accounts.get("5211").isReconciliationAllowed(),
+            Matchers.is(true)
+        );
+        accounts.get("5211").update("5212", "Banques en devises");
+        MatcherAssert.assertThat(
+            accounts.get("5212").name(),
+            Matchers.equalTo("Banques en devises")
+        );
+    }
+
+    @Test
+    public void givenExistingCodeWhenUpdateThenRejected() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=571 already exists !");
+        new PgAccount(source, 1L).update("571", "Caisse");
+    }
+
+    @Test
+    public void givenExistingCodeWhenCloneThenRejected() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=521 already exists !");
+        new PgAccount(source, 2L).clone("521", "Banques");
+    }
+}
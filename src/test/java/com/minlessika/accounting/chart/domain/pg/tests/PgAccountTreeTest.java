@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.AccountTree;
+import com.minlessika.accounting.chart.domain.pg.PgAccountTree;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PgAccountTree}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgAccountTreeTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018'),",
+                    "('SYSCOHADA', 'ACTIVE', '2019');"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "VALUES (1, '4', 'Comptes de tiers'),",
+                    "(1, '40', 'Fournisseurs'),",
+                    "(1, '401', 'Fournisseurs, dettes en compte'),",
+                    "(1, '41', 'Clients'),",
+                    "(1, '411', 'Clients'),",
+                    "(1, '4111', 'Clients - ventes'),",
+                    "(1, '4112', 'Clients - services'),",
+                    "(1, '4121', 'Clients - effets'),",
+                    "(1, '42', 'Personnel'),",
+                    "(1, '52', 'Banques'),",
+                    "(1, '521', 'Banques locales'),",
+                    "(2, '4115', 'Clients - autre plan');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void listsDescendantsOfAcode() {
+        final AccountTree tree = new PgAccountTree(source, 1L);
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(tree.descendants("41")),
+            Matchers.contains("411", "4111", "4112", "4121")
+        );
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(tree.descendants("5")),
+            Matchers.contains("52", "521")
+        );
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(tree.descendants("4111")),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    public void listsChildrenSkippingMissingLevels() {
+        final AccountTree tree = new PgAccountTree(source, 1L);
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(tree.children("4")),
+            Matchers.contains("40", "41", "42")
+        );
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(tree.children("41")),
+            Matchers.contains("411", "4121")
+        );
+    }
+
+    @Test
+    public void listsAncestorsFromTheRoot() {
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(
+                new PgAccountTree(source, 1L).ancestors("4111")
+            ),
+            Matchers.contains("4", "41", "411")
+        );
+        MatcherAssert.assertThat(
+            PgAccountTreeTest.codes(
+                new PgAccountTree(source, 1L).ancestors("4")
+            ),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    public void findsClosestParent() {
+        final AccountTree tree = new PgAccountTree(source, 1L);
+        MatcherAssert.assertThat(
+            tree.parent("4121").code(),
+            Matchers.equalTo("41")
+        );
+        MatcherAssert.assertThat(
+            tree.parent("4115").code(),
+            Matchers.equalTo("411")
+        );
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=52 has no parent !");
+        tree.parent("52");
+    }
+
+    /**
+     * Codes of accounts.
+     * @param accounts Accounts
+     * @return Codes
+     */
+    private static List<String> codes(final Iterable<Account> accounts) {
+        final List<String> codes = new ArrayList<>(0);
+        for (final Account account : accounts) {
+            codes.add(account.code());
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.Accounts;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Test case for {@link PgAccounts}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgAccountsTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018'),",
+                    "('SYSCOHADA', 'ACTIVE', '2019'),",
+                    "('SYSCOHADA', 'ACTIVE', '2020');"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "VALUES (1, '601', 'Achats de marchandises'),",
+                    "(1, '411', 'Clients'),",
+                    "(1, '4111', 'Clients - ventes'),",
+                    "(1, '521', 'Banques locales'),",
+                    "(1, '5211', 'Banques en monnaie nationale'),",
+                    "(1, '571', 'Caisse siège social');"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "VALUES (3, '401', 'Fournisseurs'),",
+                    "(3, '4011', 'Fournisseurs étrangers'),",
+                    "(3, '408', 'Fournisseur, factures non parvenues'),",
+                    "(3, '471', 'Créances diverses'),",
+                    "(3, '601', 'Achats de marchandises');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void iterateAllAccountsOrderedByCode() {
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(new PgAccounts(source, 1L).iterate()),
+            Matchers.contains("411", "4111", "521", "5211", "571", "601")
+        );
+    }
+
+    @Test
+    public void selectApageByPosition() {
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(
+                new PgAccounts(source, 1L).iterate(2, 3, "")
+            ),
+            Matchers.contains("521", "5211", "571")
+        );
+    }
+
+    @Test
+    public void selectPagesAfterLastCode() {
+        final Accounts accounts = new PgAccounts(source, 1L);
+        final List<String> first = PgAccountsTest.codes(
+            accounts.iterate("", 4, "")
+        );
+        MatcherAssert.assertThat(
+            first,
+            Matchers.contains("411", "4111", "521", "5211")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(
+                accounts.iterate(first.get(first.size() - 1), 4, "")
+            ),
+            Matchers.contains("571", "601")
+        );
+    }
+
+    @Test
+    public void filterOnCodePrefixOrName() {
+        final Accounts accounts = new PgAccounts(source, 1L);
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate(0, 10, "52")),
+            Matchers.contains("521", "5211")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate("411", 10, "clients")),
+            Matchers.contains("4111")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate(0, 10, "%")),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    public void selectAccountsByCodePrefix() {
+        final Accounts accounts = new PgAccounts(source, 1L);
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.prefixed("52")),
+            Matchers.contains("521", "5211")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.prefixed("411")),
+            Matchers.contains("411", "4111")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.prefixed("9")),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    public void filterWhateverTheAccents() {
+        final Accounts accounts = new PgAccounts(source, 1L);
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate(0, 10, "SIEGE")),
+            Matchers.contains("571")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate("", 10, "sìège")),
+            Matchers.contains("571")
+        );
+    }
+
+    @Test
+    public void searchAccountsBestFirst() {
+        final PgAccounts accounts = new PgAccounts(source, 3L);
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.search("fournisseurs", 10)),
+            Matchers.contains("401", "4011", "408")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.search("creances", 10)),
+            Matchers.contains("471")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.search("fourniseurs etrangers", 10)),
+            Matchers.contains("4011")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.search("40", 2)),
+            Matchers.contains("401", "4011")
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.search("", 2)),
+            Matchers.contains("401", "4011")
+        );
+    }
+
+    @Test
+    public void streamAllAccounts() {
+        final List<String> codes = new ArrayList<>(0);
+        new PgAccounts(source, 1L).iterate(2).forEach(
+            account -> codes.add(account.code())
+        );
+        MatcherAssert.assertThat(
+            codes,
+            Matchers.contains("411", "4111", "521", "5211", "571", "601")
+        );
+    }
+
+    @Test
+    public void publishAccountsOnDemand() {
+        final List<String> codes = new ArrayList<>(0);
+        final AtomicBoolean completed = new AtomicBoolean();
+        new PgAccounts(source, 1L).publisher(2).subscribe(
+            new Subscriber<Account>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(final Subscription sub) {
+                    this.subscription = sub;
+                    sub.request(1L);
+                }
+
+                @Override
+                public void onNext(final Account account) {
+                    codes.add(account.code());
+                    this.subscription.request(1L);
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    throw new IllegalStateException(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.set(true);
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            codes,
+            Matchers.contains("411", "4111", "521", "5211", "571", "601")
+        );
+        MatcherAssert.assertThat(completed.get(), Matchers.is(true));
+    }
+
+    @Test
+    public void publishNoMoreAccountsThanRequested() {
+        final List<String> codes = new ArrayList<>(0);
+        final AtomicBoolean completed = new AtomicBoolean();
+        final AtomicReference<Subscription> subscription =
+            new AtomicReference<>();
+        new PgAccounts(source, 1L).publisher(2).subscribe(
+            new Subscriber<Account>() {
+                @Override
+                public void onSubscribe(final Subscription sub) {
+                    subscription.set(sub);
+                    sub.request(3L);
+                }
+
+                @Override
+                public void onNext(final Account account) {
+                    codes.add(account.code());
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    throw new IllegalStateException(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.set(true);
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            codes,
+            Matchers.contains("411", "4111", "521")
+        );
+        subscription.get().cancel();
+        subscription.get().request(10L);
+        MatcherAssert.assertThat(codes, Matchers.hasSize(3));
+        MatcherAssert.assertThat(completed.get(), Matchers.is(false));
+    }
+
+    @Test
+    public void signalBadRequestAfterCurrentSignal() {
+        final List<String> signals = new ArrayList<>(0);
+        new PgAccounts(source, 1L).publisher(2).subscribe(
+            new Subscriber<Account>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(final Subscription sub) {
+                    this.subscription = sub;
+                    sub.request(2L);
+                }
+
+                @Override
+                public void onNext(final Account account) {
+                    signals.add(account.code());
+                    this.subscription.request(0L);
+                    signals.add("requested");
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    signals.add(error.getClass().getSimpleName());
+                }
+
+                @Override
+                public void onComplete() {
+                    signals.add("completed");
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            signals,
+            Matchers.contains("411", "requested", "IllegalArgumentException")
+        );
+    }
+
+    @Test
+    public void closeCursorWhenSubscriberFails() throws Exception {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        new PgAccounts(source, 1L).publisher(2).subscribe(
+            new Subscriber<Account>() {
+                @Override
+                public void onSubscribe(final Subscription sub) {
+                    sub.request(3L);
+                }
+
+                @Override
+                public void onNext(final Account account) {
+                    throw new IllegalStateException("Subscriber failed");
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    failure.set(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    throw new IllegalStateException("Completed");
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            failure.get().getMessage(),
+            Matchers.equalTo("Subscriber failed")
+        );
+        MatcherAssert.assertThat(
+            new JdbcSession(source)
+                .sql(
+                    String.join(
+                        " ",
+                        "SELECT COUNT(*) FROM pg_stat_activity",
+                        "WHERE state LIKE 'idle in transaction%'"
+                    )
+                )
+                .select(new SingleOutcome<>(Long.class)),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    @Test
+    public void retrieveAnAccount() {
+        final Accounts accounts = new PgAccounts(source, 1L);
+        MatcherAssert.assertThat(
+            accounts.get("571").name(),
+            Matchers.equalTo("Caisse siège social")
+        );
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=999 not found !");
+        accounts.get("999");
+    }
+
+    @Test
+    public void addAndRemoveAnAccount() {
+        final Accounts accounts = new PgAccounts(source, 2L);
+        final int size = accounts.size();
+        accounts.add("401", "Fournisseurs");
+        MatcherAssert.assertThat(accounts.contains("401"), Matchers.is(true));
+        MatcherAssert.assertThat(
+            accounts.size(),
+            Matchers.equalTo(size + 1)
+        );
+        accounts.remove("401");
+        MatcherAssert.assertThat(accounts.contains("401"), Matchers.is(false));
+        MatcherAssert.assertThat(
+            accounts.size(),
+            Matchers.equalTo(size)
+        );
+    }
+
+    @Test
+    public void rejectAnExistingCode() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=411 already exists !");
+        new PgAccounts(source, 1L).add("411", "Clients");
+    }
+
+    @Test
+    public void keepCodesUniqueUnderConcurrentEdits() throws Exception {
+        final Accounts accounts = new PgAccounts(source, 2L);
+        accounts.add("101", "Capital social");
+        final int threads = 6;
+        final int rounds = 20;
+        final AtomicInteger rejected = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; ++round) {
+                final String code = String.format("70%02d", round);
+                final CyclicBarrier barrier = new CyclicBarrier(threads);
+                final List<Future<Object>> tasks = new ArrayList<>(threads);
+                for (int idx = 0; idx < threads; ++idx) {
+                    final int kind = idx % 3;
+                    final String own = String.format("8%02d%d", round, idx);
+                    tasks.add(
+                        pool.submit(
+                            () -> {
+                                if (kind == 2) {
+                                    accounts.add(own, "Compte d'attente");
+                                }
+                                barrier.await();
+                                try {
+                                    if (kind == 0) {
+                                        accounts.add(code, "Ventes");
+                                    } else if (kind == 1) {
+                                        accounts.get("101").clone(code, "Ventes");
+                                    } else {
+                                        accounts.get(own).update(code, "Ventes");
+                                    }
+                                } catch (final IllegalArgumentException ex) {
+                                    rejected.incrementAndGet();
+                                }
+                                return null;
+                            }
+                        )
+                    );
+                }
+                for (final Future<Object> task : tasks) {
+                    task.get();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        MatcherAssert.assertThat(
+            rejected.get(),
+            Matchers.equalTo(rounds * (threads - 1))
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.prefixed("70")),
+            Matchers.hasSize(rounds)
+        );
+    }
+
+    @Test
+    public void keepSizeUnderConcurrentAddsAndRemoves() throws Exception {
+        final Accounts accounts = new PgAccounts(
+            source,
+            new PgCharts(source).add(ChartType.SYSCOHADA, "2050").number()
+        );
+        final int threads = 4;
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Object>> tasks = new ArrayList<>(threads);
+            for (int idx = 0; idx < threads; ++idx) {
+                final int thread = idx;
+                tasks.add(
+                    pool.submit(
+                        () -> {
+                            for (int round = 0; round < 20; ++round) {
+                                final String code =
+                                    String.format("6%d%02d", thread, round);
+                                accounts.add(code, "Achats");
+                                if (round % 4 == 0) {
+                                    accounts.remove(code);
+                                }
+                            }
+                            return null;
+                        }
+                    )
+                );
+            }
+            for (final Future<Object> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        MatcherAssert.assertThat(
+            accounts.size(),
+            Matchers.equalTo(threads * 15)
+        );
+        MatcherAssert.assertThat(
+            PgAccountsTest.codes(accounts.iterate()),
+            Matchers.hasSize(accounts.size())
+        );
+    }
+
+    /**
+     * Codes of accounts.
+     * @param accounts Accounts
+     * @return Codes
+     */
+    private static List<String> codes(final Iterable<Account> accounts) {
+        final List<String> codes = new ArrayList<>(0);
+        for (final Account account : accounts) {
+            codes.add(account.code());
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgChangeListener;
+import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PgChangeListener}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgChangeListenerTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void receiveIdOfChangedCharts() throws Exception {
+        final BlockingQueue<Long> changed = new LinkedBlockingQueue<>();
+        final CountDownLatch listening = new CountDownLatch(1);
+        final PgChangeListener listener = new PgChangeListener(
+            source, changed::add, listening::countDown
+        ).start();
+        try {
+            MatcherAssert.assertThat(
+                listening.await(10L, TimeUnit.SECONDS),
+                Matchers.is(true)
+            );
+            new PgChart(source, 1L).activate(false);
+            MatcherAssert.assertThat(
+                changed.poll(10L, TimeUnit.SECONDS),
+                Matchers.equalTo(1L)
+            );
+            final Long added = new PgCharts(source)
+                .add(ChartType.SYSCOHADA, "2019")
+                .number();
+            MatcherAssert.assertThat(
+                changed.poll(10L, TimeUnit.SECONDS),
+                Matchers.equalTo(added)
+            );
+            new PgCharts(source).remove(added);
+            MatcherAssert.assertThat(
+                changed.poll(10L, TimeUnit.SECONDS),
+                Matchers.equalTo(added)
+            );
+        } finally {
+            listener.close();
+        }
+    }
+
+    @Test
+    public void survivesBadPayloadsAndFailingActions() throws Exception {
+        final BlockingQueue<Long> changed = new LinkedBlockingQueue<>();
+        final Semaphore resets = new Semaphore(0);
+        final PgChangeListener listener = new PgChangeListener(
+            source,
+            id -> {
+                if (id == 13L) {
+                    throw new IllegalStateException("Action failed");
+                }
+                changed.add(id);
+            },
+            resets::release
+        ).start();
+        try {
+            MatcherAssert.assertThat(
+                resets.tryAcquire(10L, TimeUnit.SECONDS),
+                Matchers.is(true)
+            );
+            PgChangeListenerTest.publish("not an ID");
+            PgChangeListenerTest.publish("7");
+            MatcherAssert.assertThat(
+                changed.poll(10L, TimeUnit.SECONDS),
+                Matchers.equalTo(7L)
+            );
+            PgChangeListenerTest.publish("13");
+            MatcherAssert.assertThat(
+                resets.tryAcquire(2, 10L, TimeUnit.SECONDS),
+                Matchers.is(true)
+            );
+            PgChangeListenerTest.publish("8");
+            MatcherAssert.assertThat(
+                changed.poll(10L, TimeUnit.SECONDS),
+                Matchers.equalTo(8L)
+            );
+        } finally {
+            listener.close();
+        }
+    }
+
+    /**
+     * Notify a payload on channel of chart changes.
+     * @param payload Payload
+     * @throws Exception If fails
+     */
+    private static void publish(final String payload) throws Exception {
+        new JdbcSession(source)
+            .sql("SELECT pg_notify(?, ?)")
+            .set(PgChangeListener.CHARTS)
+            .set(payload)
+            .execute();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.pg.PgChartExport;
+import com.minlessika.accounting.chart.domain.pg.PgChartImport;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgEntities;
+import com.minlessika.accounting.chart.domain.pg.PgEntityCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PgChartExport} and {@link PgChartImport}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgChartImportTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'INACTIVE', '2018');"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account",
+                    "(chart_id, code, name, reconciliation_allowed, deprecated)",
+                    "VALUES (1, '411', 'Clients', TRUE, FALSE),",
+                    "(1, '4111', E'Clients\\tventes\\\\export', FALSE, TRUE),",
+                    "(1, '571', 'Caisse siège social', TRUE, TRUE);"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2020');",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "SELECT 2, LPAD(n::text, 8, '0'), 'Compte ' || n",
+                    "FROM generate_series(1, 10000) AS n;"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void copyAchartWithItsAccounts() {
+        final Chart chart = new PgChartImport(source).read(
+            Channels.newChannel(
+                new ByteArrayInputStream(PgChartImportTest.export(1L))
+            )
+        );
+        MatcherAssert.assertThat(chart.version(), Matchers.equalTo("2018"));
+        MatcherAssert.assertThat(
+            chart.state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+        MatcherAssert.assertThat(
+            PgChartImportTest.lines(chart.number()),
+            Matchers.equalTo(PgChartImportTest.lines(1L))
+        );
+    }
+
+    @Test
+    public void importIntoChartOfEntity() {
+        new PgEntities(source).add(5L);
+        final Chart chart = new PgChartImport(source, 5L).read(
+            Channels.newChannel(
+                new ByteArrayInputStream(PgChartImportTest.export(1L))
+            )
+        );
+        MatcherAssert.assertThat(
+            new PgEntityCharts(source, 5L).get(chart.number()).version(),
+            Matchers.equalTo("2018")
+        );
+        MatcherAssert.assertThat(
+            new PgAccounts(source, 5L, chart.number()).size(),
+            Matchers.equalTo(3)
+        );
+        MatcherAssert.assertThat(
+            PgChartImportTest.lines(chart.number()),
+            Matchers.equalTo(PgChartImportTest.lines(1L))
+        );
+    }
+
+    @Test
+    public void copyAlargeChart() {
+        final Chart chart = new PgChartImport(source).read(
+            Channels.newChannel(
+                new ByteArrayInputStream(PgChartImportTest.export(2L))
+            )
+        );
+        MatcherAssert.assertThat(
+            new PgAccounts(source, chart.number()).size(),
+            Matchers.equalTo(10_000)
+        );
+        MatcherAssert.assertThat(
+            new PgAccounts(source, chart.number()).get("00000042").name(),
+            Matchers.equalTo("Compte 42")
+        );
+    }
+
+    @Test
+    public void importNothingFromTruncatedExport() {
+        final long size = new PgCharts(source).size();
+        final byte[] export = PgChartImportTest.export(2L);
+        String error = "";
+        try {
+            new PgChartImport(source).read(
+                Channels.newChannel(
+                    new ByteArrayInputStream(
+                        Arrays.copyOf(export, export.length / 2)
+                    )
+                )
+            );
+        } catch (final IllegalArgumentException ex) {
+            error = ex.getMessage();
+        }
+        MatcherAssert.assertThat(
+            error,
+            Matchers.equalTo("Chart export is truncated !")
+        );
+        MatcherAssert.assertThat(
+            new PgCharts(source).size(),
+            Matchers.equalTo(size)
+        );
+    }
+
+    @Test
+    public void rejectsUnknownContent() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Content is not a chart export !");
+        new PgChartImport(source).read(
+            Channels.newChannel(
+                new ByteArrayInputStream("code;name\n".getBytes())
+            )
+        );
+    }
+
+    /**
+     * Export a chart.
+     * @param chart Chart ID
+     * @return Content
+     */
+    private static byte[] export(final Long chart) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new PgChartExport(source, chart).write(Channels.newChannel(output));
+        return output.toByteArray();
+    }
+
+    /**
+     * Accounts of a chart as lines.
+     * @param chart Chart ID
+     * @return Lines
+     */
+    private static List<String> lines(final Long chart) {
+        final List<String> lines = new ArrayList<>(0);
+        for (final Account account : new PgAccounts(source, chart).iterate()) {
+            lines.add(
+                String.join(
+                    "|",
+                    account.code(),
+                    account.name(),
+                    String.valueOf(account.isReconciliationAllowed()),
+                    String.valueOf(account.isDeprecated())
+                )
+            );
+        }
+        return lines;
+    }
+}
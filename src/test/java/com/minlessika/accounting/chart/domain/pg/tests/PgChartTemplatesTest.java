@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.pg.PgChartTemplates;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.reference.ReferenceChart;
+import com.minlessika.accounting.chart.domain.reference.ReferenceCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PgChartTemplates}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgChartTemplatesTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        new PgChartTemplates(source).load(
+            new ReferenceCharts().get(ChartType.SYSCOHADA)
+        );
+    }
+
+    @Test
+    public void provisionsAchartWithAllItsAccounts() {
+        final ReferenceChart reference = new ReferenceCharts()
+            .get(ChartType.SYSCOHADA);
+        final Chart chart = new PgCharts(source)
+            .provision(ChartType.SYSCOHADA, reference.version());
+        MatcherAssert.assertThat(
+            chart.state(),
+            Matchers.equalTo(ChartState.ACTIVE)
+        );
+        final PgAccounts accounts = new PgAccounts(source, chart.number());
+        MatcherAssert.assertThat(
+            accounts.size(),
+            Matchers.equalTo(reference.size())
+        );
+        MatcherAssert.assertThat(
+            accounts.get("521").isReconciliationAllowed(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            accounts.get("571").name(),
+            Matchers.equalTo(reference.get("571").name())
+        );
+    }
+
+    @Test
+    public void provisionsNothingWithoutTemplate() {
+        final PgCharts charts = new PgCharts(source);
+        final long size = charts.size();
+        String error = "";
+        try {
+            charts.provision(ChartType.SYSCOHADA, "1990");
+        } catch (final IllegalArgumentException ex) {
+            error = ex.getMessage();
+        }
+        MatcherAssert.assertThat(
+            error,
+            Matchers.equalTo(
+                "Template of chart SYSCOHADA version 1990 not found !"
+            )
+        );
+        MatcherAssert.assertThat(charts.size(), Matchers.equalTo(size));
+    }
+
+    @Test
+    public void reloadsAtemplate() {
+        final ReferenceChart reference = new ReferenceCharts()
+            .get(ChartType.SYSCOHADA);
+        final PgChartTemplates templates = new PgChartTemplates(source);
+        templates.load(reference);
+        MatcherAssert.assertThat(
+            templates.contains(ChartType.SYSCOHADA, reference.version()),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            templates.contains(ChartType.SYSCOHADA, "1990"),
+            Matchers.is(false)
+        );
+    }
+}
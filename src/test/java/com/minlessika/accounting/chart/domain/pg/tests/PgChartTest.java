@@ -26,7 +26,10 @@ package com.minlessika.accounting.chart.domain.pg.tests;
 
 import com.minlessika.accounting.chart.domain.api.Chart;
 import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
 import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgChartSnapshot;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
 import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
 import java.sql.Connection;
 import java.sql.Statement;
@@ -52,22 +55,11 @@ public class PgChartTest {
     @BeforeClass
     public static void setUp() throws Exception {
         source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
         try (
             Connection connection = source.getConnection();
             Statement s = connection.createStatement()
         ) {
-            s.execute(
-                String.join(
-                    " ",
-                    "CREATE TABLE accounting_chart (",
-                    "   id BIGSERIAL NOT NULL,",
-                    "   type VARCHAR(25) NOT NULL,",
-                    "   state VARCHAR(10) NOT NULL,",
-                    "   version VARCHAR(10) NOT NULL,",
-                    "   CONSTRAINT accounting_chart_pkey PRIMARY KEY (id)",
-                    ")"
-                )
-            );
             s.execute(
                 String.join(
                     " ",
@@ -115,4 +107,37 @@ public class PgChartTest {
             Matchers.equalTo("2018")
         );
     }
+
+    @Test
+    public void givenChartWhenTakeSnapshotThenReturnWholeRow() {
+        final Chart chart = new PgChart(source, 1L).snapshot();
+        MatcherAssert.assertThat(
+            chart.type(),
+            Matchers.equalTo(ChartType.SYSCOHADA)
+        );
+        MatcherAssert.assertThat(
+            chart.version(),
+            Matchers.equalTo("2018")
+        );
+        MatcherAssert.assertThat(
+            chart.name(),
+            Matchers.equalTo("Plan comptable SYSCOHADA révisé version 2018")
+        );
+    }
+
+    @Test
+    public void givenSnapshotWhenActivateThenRefreshReturnsNewState() {
+        final PgChartSnapshot snapshot = new PgChart(source, 1L).snapshot();
+        snapshot.activate(true);
+        final ChartState before = snapshot.state();
+        snapshot.activate(false);
+        MatcherAssert.assertThat(
+            snapshot.state(),
+            Matchers.equalTo(before)
+        );
+        MatcherAssert.assertThat(
+            snapshot.refresh().state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+    }
 }
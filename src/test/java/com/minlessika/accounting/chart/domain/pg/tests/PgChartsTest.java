@@ -25,13 +25,26 @@
 package com.minlessika.accounting.chart.domain.pg.tests;
 
 import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
 import com.minlessika.accounting.chart.domain.api.ChartType;
 import com.minlessika.accounting.chart.domain.api.Charts;
 import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgCounters;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
 import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -63,22 +76,11 @@ public class PgChartsTest {
     @BeforeClass
     public static void setUp() throws Exception {
         source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
         try (
             Connection connection = source.getConnection();
             Statement s = connection.createStatement()
         ) {
-            s.execute(
-                String.join(
-                    " ",
-                    "CREATE TABLE accounting_chart (",
-                    "   id BIGSERIAL NOT NULL,",
-                    "   type VARCHAR(25) NOT NULL,",
-                    "   state VARCHAR(10) NOT NULL,",
-                    "   version VARCHAR(10) NOT NULL,",
-                    "   CONSTRAINT accounting_chart_pkey PRIMARY KEY (id)",
-                    ")"
-                )
-            );
             s.execute(
                 String.join(
                     " ",
@@ -98,8 +100,154 @@ public class PgChartsTest {
             Matchers.equalTo(1L)
         );
         this.thrown.expect(IllegalArgumentException.class);
-        this.thrown.expectMessage("Chart with ID=5 not found !");
-        charts.get(5L);
+        this.thrown.expectMessage("Chart with ID=9999 not found !");
+        charts.get(9999L);
+    }
+
+    @Test
+    public void getsChartsAtOnce() {
+        final PgCharts charts = new PgCharts(source);
+        final Long first = charts.add(ChartType.SYSCOHADA, "2030").number();
+        final Long second = charts.add(ChartType.SYSCOHADA, "2031").number();
+        final List<Chart> found = charts.get(Arrays.asList(second, 1L, first));
+        MatcherAssert.assertThat(found, Matchers.hasSize(3));
+        MatcherAssert.assertThat(
+            found.get(0).version(),
+            Matchers.equalTo("2031")
+        );
+        MatcherAssert.assertThat(
+            found.get(1).number(),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            found.get(2).version(),
+            Matchers.equalTo("2030")
+        );
+    }
+
+    @Test
+    public void reportsAllChartsNotFound() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Charts with IDs=[998, 999] not found !");
+        new PgCharts(source).get(Arrays.asList(999L, 1L, 998L));
+    }
+
+    @Test
+    public void keepsSizeUnderConcurrentAddsAndRemoves() throws Exception {
+        final PgCharts charts = new PgCharts(source);
+        final Long size = charts.size();
+        final int threads = 4;
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Object>> tasks = new ArrayList<>(threads);
+            for (int idx = 0; idx < threads; ++idx) {
+                tasks.add(
+                    pool.submit(
+                        () -> {
+                            for (int round = 0; round < 10; ++round) {
+                                final Chart chart =
+                                    charts.add(ChartType.SYSCOHADA, "2040");
+                                if (round % 2 == 0) {
+                                    charts.remove(chart.number());
+                                }
+                            }
+                            return null;
+                        }
+                    )
+                );
+            }
+            for (final Future<Object> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(size + threads * 5)
+        );
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement();
+            ResultSet rset = s.executeQuery(
+                "SELECT COUNT(*) FROM accounting_chart"
+            )
+        ) {
+            rset.next();
+            MatcherAssert.assertThat(
+                charts.size(),
+                Matchers.equalTo(rset.getLong(1))
+            );
+        }
+    }
+
+    @Test
+    public void addsChartWhileAnotherWriterIsOpen() throws Exception {
+        final PgCharts charts = new PgCharts(source);
+        final Long size = charts.size();
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            connection.setAutoCommit(false);
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2041')"
+                )
+            );
+            pool.submit(
+                () -> charts.add(ChartType.SYSCOHADA, "2042")
+            ).get(5L, TimeUnit.SECONDS);
+            connection.rollback();
+        } finally {
+            pool.shutdown();
+        }
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(size + 1L)
+        );
+    }
+
+    @Test
+    public void keepsSizeWhenCountersAreCompacted() throws Exception {
+        final PgCharts charts = new PgCharts(source);
+        charts.remove(charts.add(ChartType.SYSCOHADA, "2043").number());
+        charts.add(ChartType.SYSCOHADA, "2044");
+        final Long size = charts.size();
+        new PgCounters(source).compact();
+        MatcherAssert.assertThat(charts.size(), Matchers.equalTo(size));
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement();
+            ResultSet rset = s.executeQuery(
+                String.join(
+                    " ",
+                    "SELECT COUNT(*) FROM accounting_counter",
+                    "WHERE kind='chart' AND owner=0"
+                )
+            )
+        ) {
+            rset.next();
+            MatcherAssert.assertThat(rset.getLong(1), Matchers.equalTo(1L));
+        }
+    }
+
+    @Test
+    public void estimatesSizeFromStatistics() throws Exception {
+        final PgCharts charts = new PgCharts(source);
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute("ANALYZE accounting_chart");
+        }
+        MatcherAssert.assertThat(
+            charts.estimate(),
+            Matchers.equalTo(charts.size())
+        );
     }
 
     @Test
@@ -156,4 +304,93 @@ public class PgChartsTest {
             Matchers.equalTo(count)
         );
     }
+
+    @Test
+    public void iterateAllChartsThroughCursor() {
+        final PgCharts charts = new PgCharts(source);
+        charts.add(ChartType.SYSCOHADA, "2060");
+        charts.add(ChartType.SYSCOHADA, "2070");
+        final List<Long> ids = new ArrayList<>(0);
+        charts.iterate(1).forEach(chart -> ids.add(chart.number()));
+        final List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        MatcherAssert.assertThat(ids, Matchers.equalTo(sorted));
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo((long) ids.size())
+        );
+    }
+
+    @Test
+    public void closeCursorWhenActionFails() throws Exception {
+        try {
+            new PgCharts(source).iterate(1).forEach(
+                chart -> {
+                    throw new IllegalStateException("Action failed");
+                }
+            );
+        } catch (final IllegalStateException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(),
+                Matchers.equalTo("Action failed")
+            );
+        }
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement();
+            ResultSet rset = s.executeQuery(
+                String.join(
+                    " ",
+                    "SELECT COUNT(*) FROM pg_stat_activity",
+                    "WHERE state LIKE 'idle in transaction%'"
+                )
+            )
+        ) {
+            rset.next();
+            MatcherAssert.assertThat(rset.getLong(1), Matchers.equalTo(0L));
+        }
+    }
+
+    @Test
+    public void streamChartsAndStopEarly() {
+        final PgCharts charts = new PgCharts(source);
+        charts.add(ChartType.SYSCOHADA, "2080");
+        try (Stream<? extends Chart> stream = charts.iterate(2).stream()) {
+            MatcherAssert.assertThat(
+                stream.findFirst().get().number(),
+                Matchers.equalTo(1L)
+            );
+        }
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.greaterThan(1L)
+        );
+    }
+
+    @Test
+    public void addActivateAndRemoveChartsAtOnce() {
+        final PgCharts charts = new PgCharts(source);
+        final Long size = charts.size();
+        final List<Long> ids = charts.add(ChartType.SYSCOHADA, "2090", 3);
+        MatcherAssert.assertThat(ids, Matchers.hasSize(3));
+        final List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        MatcherAssert.assertThat(ids, Matchers.equalTo(sorted));
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(size + 3L)
+        );
+        charts.activate(ids, false);
+        for (final Long id : ids) {
+            MatcherAssert.assertThat(
+                charts.get(id).state(),
+                Matchers.equalTo(ChartState.INACTIVE)
+            );
+        }
+        charts.remove(ids);
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(size)
+        );
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgChartSnapshot;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgEntities;
+import com.minlessika.accounting.chart.domain.pg.PgEntityCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PgEntityCharts} and {@link PgEntities}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgEntityChartsTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+    }
+
+    @Test
+    public void isolatesChartsOfEntities() {
+        final PgEntities entities = new PgEntities(source);
+        final PgEntityCharts first = entities.add(1L);
+        final PgEntityCharts second = entities.add(2L);
+        final Chart chart = first.add(ChartType.SYSCOHADA, "2018");
+        second.add(ChartType.SYSCOHADA, "2019");
+        second.add(ChartType.SYSCOHADA, "2020");
+        MatcherAssert.assertThat(first.size(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(second.size(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(
+            first.get(chart.number()).version(),
+            Matchers.equalTo("2018")
+        );
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage(
+            String.format("Chart with ID=%s not found !", chart.number())
+        );
+        second.get(chart.number());
+    }
+
+    @Test
+    public void scopesAccountsToEntity() {
+        final PgEntityCharts charts = new PgEntities(source).add(3L);
+        final Long chart = charts.add(ChartType.SYSCOHADA, "2018").number();
+        final PgAccounts accounts = charts.accounts(chart);
+        accounts.add("411", "Clients");
+        accounts.get("411").clone("4111", "Clients - Ventes");
+        MatcherAssert.assertThat(accounts.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            new PgAccounts(source, chart).size(),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            new PgAccounts(source, 1L, chart).size(),
+            Matchers.equalTo(0)
+        );
+        new PgAccounts(source, 1L, chart).remove("411");
+        MatcherAssert.assertThat(
+            accounts.contains("411"),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    public void writesToChartOfEntity() {
+        final PgEntityCharts charts = new PgEntities(source).add(7L);
+        final PgChartSnapshot chart =
+            (PgChartSnapshot) charts.add(ChartType.SYSCOHADA, "2018");
+        new PgChart(source, 1L, chart.number()).activate(false);
+        MatcherAssert.assertThat(
+            chart.refresh().state(),
+            Matchers.equalTo(ChartState.ACTIVE)
+        );
+        chart.activate(false);
+        MatcherAssert.assertThat(
+            chart.refresh().state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+        charts.accounts(chart.number()).add("411", "Clients");
+        charts.accounts(chart.number()).add("4111", "Clients - Ventes");
+        MatcherAssert.assertThat(
+            charts.tree(chart.number()).children("411"),
+            Matchers.iterableWithSize(1)
+        );
+    }
+
+    @Test
+    public void addsAccountToChartOfAnyEntity() {
+        final Long chart = new PgEntities(source).add(4L)
+            .add(ChartType.SYSCOHADA, "2018").number();
+        new PgAccounts(source, chart).add("521", "Banques");
+        MatcherAssert.assertThat(
+            new PgAccounts(source, 4L, chart).contains("521"),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    public void removesEntityWithItsChartsAndAccounts() {
+        final PgEntities entities = new PgEntities(source);
+        final PgEntityCharts charts = entities.add(5L);
+        final Long chart = charts.add(ChartType.SYSCOHADA, "2018").number();
+        charts.accounts(chart).add("571", "Caisse");
+        final Long size = new PgCharts(source).size();
+        entities.remove(5L);
+        MatcherAssert.assertThat(entities.contains(5L), Matchers.is(false));
+        MatcherAssert.assertThat(
+            new PgCharts(source).size(),
+            Matchers.equalTo(size - 1L)
+        );
+        MatcherAssert.assertThat(
+            new PgAccounts(source, chart).size(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    public void estimatesSizeOfEntity() throws Exception {
+        final PgEntityCharts charts = new PgEntities(source).add(6L);
+        for (int idx = 0; idx < 3; ++idx) {
+            charts.add(ChartType.SYSCOHADA, "2018");
+        }
+        MatcherAssert.assertThat(charts.size(), Matchers.equalTo(3L));
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute("ANALYZE accounting_chart_6");
+        }
+        MatcherAssert.assertThat(charts.estimate(), Matchers.equalTo(3L));
+    }
+
+    @Test
+    public void keepsChartsOwnedByNoEntity() {
+        final PgEntities entities = new PgEntities(source);
+        final Long chart = new PgCharts(source)
+            .add(ChartType.SYSCOHADA, "2018").number();
+        MatcherAssert.assertThat(
+            new PgEntityCharts(source, 0L).get(chart).number(),
+            Matchers.equalTo(chart)
+        );
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage(
+            "Partition of charts owned by no entity can't be removed !"
+        );
+        entities.remove(0L);
+    }
+}
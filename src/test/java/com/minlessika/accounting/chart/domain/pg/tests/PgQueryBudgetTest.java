@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.metered.CountingDataSource;
+import com.minlessika.accounting.chart.domain.pg.PgAccounts;
+import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgChartExport;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgReplicas;
+import com.minlessika.accounting.chart.domain.pg.PgRoutedCharts;
+import com.minlessika.accounting.chart.domain.pg.PgSnapshotCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Query budgets of the PostgreSQL implementations.
+ *
+ * <p>It guards against N+1 patterns: reading N items must not cost N
+ * queries.
+ *
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgQueryBudgetTest {
+
+    /**
+     * Data source.
+     */
+    private static CountingDataSource source;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new CountingDataSource(new EmbeddedPostgreSQLDataSource());
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "SELECT 'SYSCOHADA', 'ACTIVE', '2018'",
+                    "FROM generate_series(1, 100)"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_account (chart_id, code, name)",
+                    "SELECT 1, '4' || n, 'Compte ' || n",
+                    "FROM generate_series(1, 100) n"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void iterateLoadedChartsInOneQuery() {
+        MatcherAssert.assertThat(
+            () -> {
+                for (final Chart chart
+                    : new PgSnapshotCharts(source).iterate()) {
+                    chart.name();
+                    chart.state();
+                }
+            },
+            new IssuesQueries(
+                source,
+                Matchers.equalTo(1L),
+                Matchers.equalTo(1L)
+            )
+        );
+    }
+
+    @Test
+    public void iterateRoutedChartsInOneQuery() {
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                source,
+                Collections.singletonList(source),
+                Duration.ofSeconds(5L),
+                Duration.ofMinutes(1L)
+            )
+        );
+        charts.size();
+        MatcherAssert.assertThat(
+            () -> {
+                for (final Chart chart : charts.iterate()) {
+                    chart.name();
+                    chart.state();
+                }
+            },
+            new IssuesQueries(
+                source,
+                Matchers.equalTo(1L),
+                Matchers.equalTo(1L)
+            )
+        );
+    }
+
+    @Test
+    public void exportChartOnOneConnection() {
+        MatcherAssert.assertThat(
+            () -> new PgChartExport(source, 1L).write(
+                Channels.newChannel(new ByteArrayOutputStream())
+            ),
+            new IssuesQueries(
+                source,
+                Matchers.lessThanOrEqualTo(3L),
+                Matchers.equalTo(1L)
+            )
+        );
+    }
+
+    @Test
+    public void streamChartsInOneQuery() {
+        MatcherAssert.assertThat(
+            () -> new PgCharts(source).iterate(10).forEach(Chart::name),
+            new IssuesQueries(source, Matchers.equalTo(1L))
+        );
+    }
+
+    @Test
+    public void readChartNameInOneQuery() {
+        MatcherAssert.assertThat(
+            () -> new PgChart(source, 1L).name(),
+            new IssuesQueries(source, Matchers.equalTo(1L))
+        );
+    }
+
+    @Test
+    public void getLoadedChartInOneQuery() {
+        MatcherAssert.assertThat(
+            () -> new PgSnapshotCharts(source).get(50L).version(),
+            new IssuesQueries(source, Matchers.equalTo(1L))
+        );
+    }
+
+    @Test
+    public void readApageOfAccountsInOneQuery() {
+        MatcherAssert.assertThat(
+            () -> new PgAccounts(source, 1L)
+                .iterate("450", 20, "")
+                .forEach(account -> account.name()),
+            new IssuesQueries(source, Matchers.equalTo(1L))
+        );
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.pg.PgChart;
+import com.minlessika.accounting.chart.domain.pg.PgChartSnapshot;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgReplicas;
+import com.minlessika.accounting.chart.domain.pg.PgRoutedCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+
+/**
+ * Test case for {@link PgRoutedCharts}.
+ *
+ * <p>Replica is a server of its own, which isn't fed by the primary: it
+ * has more charts, of another version, which tells which one served a
+ * call. It fakes recovery: functions of schema {@code recovery}, first
+ * in its search path, tell the position it has replayed and when, as
+ * set by the test.
+ *
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgRoutedChartsTest {
+
+    /**
+     * Primary.
+     */
+    private static DataSource primary;
+
+    /**
+     * Replica.
+     */
+    private static DataSource replica;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        primary = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(primary).install();
+        replica = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(replica).install();
+        for (final DataSource source : Arrays.asList(primary, replica)) {
+            try (
+                Connection connection = source.getConnection();
+                Statement s = connection.createStatement()
+            ) {
+                s.execute(
+                    String.join(
+                        " ",
+                        "INSERT INTO accounting_chart (type, state, version)",
+                        "VALUES ('SYSCOHADA', 'ACTIVE', '2018');"
+                    )
+                );
+                s.execute("CREATE TABLE wal_filler (n INT)");
+            }
+        }
+        try (
+            Connection connection = replica.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute("CREATE SCHEMA recovery");
+            s.execute(
+                String.join(
+                    " ",
+                    "CREATE TABLE recovery.status",
+                    "(lsn BIGINT NOT NULL, replayed TIMESTAMPTZ NOT NULL)"
+                )
+            );
+            s.execute("INSERT INTO recovery.status VALUES (0, now())");
+            s.execute(
+                String.join(
+                    " ",
+                    "CREATE FUNCTION recovery.pg_is_in_recovery()",
+                    "RETURNS BOOLEAN AS 'SELECT TRUE' LANGUAGE sql"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "CREATE FUNCTION recovery.pg_last_wal_replay_lsn()",
+                    "RETURNS pg_lsn AS 'SELECT format(''%s/%s'',",
+                    "to_hex(lsn >> 32), to_hex(lsn & 4294967295))::pg_lsn",
+                    "FROM recovery.status' LANGUAGE sql"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "CREATE FUNCTION recovery.pg_last_xact_replay_timestamp()",
+                    "RETURNS TIMESTAMPTZ AS",
+                    "'SELECT replayed FROM recovery.status' LANGUAGE sql"
+                )
+            );
+            s.execute(
+                String.join(
+                    " ",
+                    "ALTER ROLE CURRENT_USER",
+                    "SET search_path = recovery, pg_catalog, public"
+                )
+            );
+        }
+        new PgCharts(replica).add(ChartType.SYSCOHADA, "2019", 9);
+    }
+
+    @Test
+    public void readsFromReplicaAndWritesToPrimary() throws Exception {
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                primary,
+                Collections.singletonList(replica),
+                Duration.ofSeconds(5L),
+                Duration.ZERO
+            )
+        );
+        final long size = new PgCharts(replica).size();
+        final Chart chart = charts.add(ChartType.SYSCOHADA, "2030");
+        MatcherAssert.assertThat(
+            new PgChart(primary, chart.number()).version(),
+            Matchers.equalTo("2030")
+        );
+        PgRoutedChartsTest.replay(PgRoutedChartsTest.position(primary), 0);
+        MatcherAssert.assertThat(charts.size(), Matchers.equalTo(size));
+        MatcherAssert.assertThat(
+            charts.get(2L).version(),
+            Matchers.equalTo("2019")
+        );
+        final PgChartSnapshot first = (PgChartSnapshot) charts.get(1L);
+        first.activate(false);
+        MatcherAssert.assertThat(
+            new PgChart(primary, 1L).state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+        MatcherAssert.assertThat(
+            new PgChart(replica, 1L).state(),
+            Matchers.equalTo(ChartState.ACTIVE)
+        );
+        MatcherAssert.assertThat(
+            first.refresh().state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+    }
+
+    @Test
+    public void readsOwnWritesOnceReplayed() throws Exception {
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                primary,
+                Collections.singletonList(replica),
+                Duration.ofSeconds(5L),
+                Duration.ZERO
+            ),
+            true
+        );
+        PgRoutedChartsTest.replay(PgRoutedChartsTest.position(primary), 0);
+        final Chart chart = charts.add(ChartType.SYSCOHADA, "2031");
+        MatcherAssert.assertThat(
+            charts.get(chart.number()).version(),
+            Matchers.equalTo("2031")
+        );
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(primary).size())
+        );
+        PgRoutedChartsTest.replay(PgRoutedChartsTest.position(primary), 0);
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(replica).size())
+        );
+    }
+
+    @Test
+    public void readsFromPrimaryWhenReplicaStalls() throws Exception {
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                primary,
+                Collections.singletonList(replica),
+                Duration.ofSeconds(5L),
+                Duration.ZERO
+            )
+        );
+        PgRoutedChartsTest.replay(PgRoutedChartsTest.position(primary), 0);
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(replica).size())
+        );
+        PgRoutedChartsTest.replay(0L, 60);
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(primary).size())
+        );
+    }
+
+    @Test
+    public void readsFromPrimaryWhenServerIsNotInRecovery() throws Exception {
+        final PGSimpleDataSource standalone = new PGSimpleDataSource();
+        try (Connection connection = replica.getConnection()) {
+            standalone.setURL(connection.getMetaData().getURL());
+            standalone.setUser(connection.getMetaData().getUserName());
+        }
+        standalone.setCurrentSchema("public");
+        PgRoutedChartsTest.fill(
+            standalone, PgRoutedChartsTest.position(primary)
+        );
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                primary,
+                Collections.singletonList(standalone),
+                Duration.ofSeconds(5L),
+                Duration.ZERO
+            )
+        );
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(primary).size())
+        );
+    }
+
+    @Test
+    public void readsFromPrimaryWhenReplicaIsDown() {
+        final PGSimpleDataSource down = new PGSimpleDataSource();
+        down.setURL("jdbc:postgresql://localhost:1/postgres");
+        final Charts charts = new PgRoutedCharts(
+            new PgReplicas(
+                primary,
+                Collections.singletonList(down),
+                Duration.ofSeconds(5L)
+            )
+        );
+        MatcherAssert.assertThat(
+            charts.size(),
+            Matchers.equalTo(new PgCharts(primary).size())
+        );
+    }
+
+    /**
+     * Position of a server in its write-ahead log, as last inserted.
+     * @param source Server
+     * @return Bytes from start of log
+     * @throws Exception If fails
+     */
+    private static long position(final DataSource source) throws Exception {
+        return new JdbcSession(source)
+            .sql("SELECT (pg_current_wal_insert_lsn() - '0/0'::pg_lsn)::bigint")
+            .select(new SingleOutcome<>(Long.class));
+    }
+
+    /**
+     * Make the replica tell it has replayed a position some time ago.
+     * @param lsn Position, in bytes from start of log
+     * @param ago Seconds since its last replayed transaction
+     * @throws Exception If fails
+     */
+    private static void replay(final long lsn, final int ago)
+        throws Exception {
+        new JdbcSession(replica)
+            .sql(
+                String.join(
+                    " ",
+                    "UPDATE recovery.status SET lsn = ?,",
+                    "replayed = now() - make_interval(secs => ?)"
+                )
+            )
+            .set(lsn)
+            .set(ago)
+            .execute();
+    }
+
+    /**
+     * Fill write-ahead log of a server beyond a position.
+     * @param source Server
+     * @param lsn Position
+     * @throws Exception If fails
+     */
+    private static void fill(final DataSource source, final long lsn)
+        throws Exception {
+        while (PgRoutedChartsTest.position(source) <= lsn) {
+            new JdbcSession(source)
+                .sql("INSERT INTO wal_filler (n) VALUES (1)")
+                .execute()
+                .sql("SELECT pg_switch_wal()")
+                .execute();
+        }
+    }
+}
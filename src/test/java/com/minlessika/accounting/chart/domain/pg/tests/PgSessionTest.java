@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.jcabi.jdbc.JdbcSession;
+import com.jcabi.jdbc.SingleOutcome;
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgSession;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test case for {@link PgSession}.
+ * @since 1.0.0
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgSessionTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+    }
+
+    @Test
+    public void commitWorkDoneInSession() {
+        final Long id;
+        try (PgSession session = new PgSession(source)) {
+            final Chart chart = session.charts()
+                .add(ChartType.SYSCOHADA, "2018");
+            id = chart.number();
+            session.chart(id).activate(false);
+            MatcherAssert.assertThat(
+                chart.state(),
+                Matchers.equalTo(ChartState.INACTIVE)
+            );
+            session.commit();
+        }
+        MatcherAssert.assertThat(
+            new PgCharts(source).get(id).state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+    }
+
+    @Test
+    public void discardWorkNotCommitted() {
+        final Long size = new PgCharts(source).size();
+        try (PgSession session = new PgSession(source)) {
+            final Charts charts = session.charts();
+            charts.add(ChartType.SYSCOHADA, "2019");
+            MatcherAssert.assertThat(
+                charts.size(),
+                Matchers.equalTo(size + 1L)
+            );
+        }
+        MatcherAssert.assertThat(
+            new PgCharts(source).size(),
+            Matchers.equalTo(size)
+        );
+    }
+
+    @Test
+    public void runAllStatementsOnOneConnection() throws Exception {
+        try (PgSession session = new PgSession(source)) {
+            MatcherAssert.assertThat(
+                new JdbcSession(session.source())
+                    .sql("SELECT pg_backend_pid()")
+                    .select(new SingleOutcome<>(Long.class)),
+                Matchers.equalTo(
+                    new JdbcSession(session.source())
+                        .sql("SELECT pg_backend_pid()")
+                        .select(new SingleOutcome<>(Long.class))
+                )
+            );
+        }
+    }
+}
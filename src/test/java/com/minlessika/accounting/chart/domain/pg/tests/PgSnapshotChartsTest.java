@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.pg.tests;
+
+import com.minlessika.accounting.chart.domain.api.Chart;
+import com.minlessika.accounting.chart.domain.api.ChartState;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.api.Charts;
+import com.minlessika.accounting.chart.domain.pg.PgCharts;
+import com.minlessika.accounting.chart.domain.pg.PgSnapshotCharts;
+import com.minlessika.accounting.chart.domain.tests.PgSchema;
+import com.minlessika.lightweight.db.EmbeddedPostgreSQLDataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PgSnapshotCharts}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.StaticAccessToStaticFields")
+public class PgSnapshotChartsTest {
+
+    /**
+     * Data source.
+     */
+    private static DataSource source;
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @SuppressWarnings("PMD.JUnit4TestShouldUseBeforeAnnotation")
+    @BeforeClass
+    public static void setUp() throws Exception {
+        source = new EmbeddedPostgreSQLDataSource();
+        new PgSchema(source).install();
+        try (
+            Connection connection = source.getConnection();
+            Statement s = connection.createStatement()
+        ) {
+            s.execute(
+                String.join(
+                    " ",
+                    "INSERT INTO accounting_chart (type, state, version)",
+                    "VALUES ('SYSCOHADA', 'ACTIVE', '2018'),",
+                    "('SYSCOHADA', 'INACTIVE', '2001');"
+                )
+            );
+        }
+    }
+
+    @Test
+    public void iterateLoadedChartsOrderedById() {
+        final Charts charts = new PgSnapshotCharts(source);
+        final List<Long> ids = new ArrayList<>(0);
+        for (final Chart chart : charts.iterate()) {
+            ids.add(chart.number());
+        }
+        MatcherAssert.assertThat(
+            (long) ids.size(),
+            Matchers.equalTo(charts.size())
+        );
+        final List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(Long::compareTo);
+        MatcherAssert.assertThat(ids, Matchers.equalTo(sorted));
+    }
+
+    @Test
+    public void iterateChartsWithTheirState() {
+        final Chart first = new PgSnapshotCharts(source)
+            .iterate().iterator().next();
+        MatcherAssert.assertThat(
+            first.state(),
+            Matchers.equalTo(new PgCharts(source).get(1L).state())
+        );
+    }
+
+    @Test
+    public void retrieveAloadedChart() {
+        final Charts charts = new PgSnapshotCharts(source);
+        final Chart chart = charts.get(2L);
+        MatcherAssert.assertThat(
+            chart.version(),
+            Matchers.equalTo("2001")
+        );
+        MatcherAssert.assertThat(
+            chart.state(),
+            Matchers.equalTo(ChartState.INACTIVE)
+        );
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Chart with ID=50 not found !");
+        charts.get(50L);
+    }
+
+    @Test
+    public void addAchartAlreadyLoaded() {
+        final Chart chart = new PgSnapshotCharts(source)
+            .add(ChartType.SYSCOHADA, "2030");
+        MatcherAssert.assertThat(
+            chart.version(),
+            Matchers.equalTo("2030")
+        );
+        MatcherAssert.assertThat(
+            chart.state(),
+            Matchers.equalTo(ChartState.ACTIVE)
+        );
+    }
+}
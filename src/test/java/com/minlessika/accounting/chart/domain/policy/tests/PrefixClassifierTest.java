@@ -0,0 +1,195 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.policy.tests;
+
+import com.minlessika.accounting.chart.domain.api.AccountCategory;
+import com.minlessika.accounting.chart.domain.api.Policy;
+import com.minlessika.accounting.chart.domain.api.TreasureSystem;
+import com.minlessika.accounting.chart.domain.policy.PrefixClassifier;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link PrefixClassifier}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public class PrefixClassifierTest {
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void classifiesCodesByPolicyPrefixes() {
+        final PrefixClassifier classifier = new PrefixClassifier(
+            new PrefixClassifierTest.FakePolicy("52", "57", "41", "40")
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("5211"),
+            Matchers.is(AccountCategory.BANK)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("571"),
+            Matchers.is(AccountCategory.CASH)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("411"),
+            Matchers.is(AccountCategory.RECEIVABLE)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("401"),
+            Matchers.is(AccountCategory.PAYABLE)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("5"),
+            Matchers.is(AccountCategory.OTHER)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("601"),
+            Matchers.is(AccountCategory.OTHER)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("52A"),
+            Matchers.is(AccountCategory.BANK)
+        );
+    }
+
+    @Test
+    public void prefersLongestPrefix() {
+        final PrefixClassifier classifier = new PrefixClassifier(
+            new PrefixClassifierTest.FakePolicy("5", "57", "", "")
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("5711"),
+            Matchers.is(AccountCategory.CASH)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("521"),
+            Matchers.is(AccountCategory.BANK)
+        );
+        MatcherAssert.assertThat(
+            classifier.classify("411"),
+            Matchers.is(AccountCategory.OTHER)
+        );
+    }
+
+    @Test
+    public void classifiesAbatchInParallel() {
+        final PrefixClassifier classifier = new PrefixClassifier(
+            new PrefixClassifierTest.FakePolicy("52", "57", "41", "40")
+        );
+        final String[] samples = {"5211", "571", "4111", "401", "601"};
+        final List<String> codes = new ArrayList<>(100_000);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            codes.add(samples[idx % samples.length]);
+        }
+        final AccountCategory[] categories = classifier.classify(codes);
+        for (int idx = 0; idx < codes.size(); ++idx) {
+            MatcherAssert.assertThat(
+                categories[idx],
+                Matchers.is(classifier.classify(codes.get(idx)))
+            );
+        }
+    }
+
+    @Test
+    public void rejectsPrefixSharedByTwoCategories() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Prefix 52 can't be both BANK and CASH !");
+        new PrefixClassifier(
+            new PrefixClassifierTest.FakePolicy("52", "52", "41", "40")
+        );
+    }
+
+    @Test
+    public void rejectsPrefixNotMadeOfDigits() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Prefix 4X should be made of digits !");
+        new PrefixClassifier(
+            new PrefixClassifierTest.FakePolicy("52", "57", "4X", "40")
+        );
+    }
+
+    /**
+     * Fake policy.
+     * @since 1.0.0
+     */
+    private static final class FakePolicy implements Policy {
+
+        /**
+         * Prefixes of bank, cash, receivable and payable accounts.
+         */
+        private final String[] prefixes;
+
+        /**
+         * Ctor.
+         * @param prefixes Prefixes of bank, cash, receivable and payable
+         *  accounts
+         */
+        FakePolicy(final String... prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        public String bankAccountCodePrefix() {
+            return this.prefixes[0];
+        }
+
+        @Override
+        public String cashAccountCodePrefix() {
+            return this.prefixes[1];
+        }
+
+        @Override
+        public String receivableAccountCodePrefix() {
+            return this.prefixes[2];
+        }
+
+        @Override
+        public String payableAccountCodePrefix() {
+            return this.prefixes[3];
+        }
+
+        @Override
+        public TreasureSystem treasureSystem() {
+            return TreasureSystem.NONE;
+        }
+
+        @Override
+        public void changeTreasureSystem(final TreasureSystem system) {
+            throw new UnsupportedOperationException(
+                "Fake policy can't be changed !"
+            );
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.minlessika.accounting.chart.domain.reference.tests;
+
+import com.minlessika.accounting.chart.domain.api.Account;
+import com.minlessika.accounting.chart.domain.api.ChartType;
+import com.minlessika.accounting.chart.domain.reference.CompiledChart;
+import com.minlessika.accounting.chart.domain.reference.ReferenceAccount;
+import com.minlessika.accounting.chart.domain.reference.ReferenceChart;
+import com.minlessika.accounting.chart.domain.reference.ReferenceCharts;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Test case for {@link ReferenceChart}.
+ * @since 1.0.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public class ReferenceChartTest {
+
+    /**
+     * Thrown.
+     */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void bundledChartMatchesItsSource() throws Exception {
+        final byte[] compiled = ReferenceChartTest.compile();
+        final Path path = Paths.get("target", "reference", "syscohada.chart");
+        Files.createDirectories(path.getParent());
+        Files.write(path, compiled);
+        MatcherAssert.assertThat(
+            String.format(
+                "Bundled chart is out of date, copy %s to src/main/resources",
+                path
+            ),
+            Arrays.equals(
+                compiled,
+                ReferenceChartTest.bytes("/reference/syscohada.chart")
+            ),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    public void findsAccountsByCode() {
+        final ReferenceChart chart = new ReferenceCharts()
+            .get(ChartType.SYSCOHADA);
+        MatcherAssert.assertThat(chart.type(), Matchers.is(ChartType.SYSCOHADA));
+        MatcherAssert.assertThat(chart.version(), Matchers.equalTo("2017"));
+        final Account bank = chart.get("521");
+        MatcherAssert.assertThat(
+            bank.name(),
+            Matchers.equalTo("Banques locales")
+        );
+        MatcherAssert.assertThat(
+            bank.isReconciliationAllowed(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            chart.get("106").name(),
+            Matchers.equalTo("Écarts de réévaluation")
+        );
+        MatcherAssert.assertThat(chart.contains("5211"), Matchers.is(false));
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=999 not found !");
+        chart.get("999");
+    }
+
+    @Test
+    public void iteratesAccountsOrderedByCode() {
+        final List<String> codes = new ArrayList<>(0);
+        for (final Account account
+            : new ReferenceCharts().get(ChartType.SYSCOHADA)) {
+            codes.add(account.code());
+        }
+        MatcherAssert.assertThat(
+            codes.subList(0, 4),
+            Matchers.contains("1", "10", "101", "102")
+        );
+        final List<String> sorted = new ArrayList<>(codes);
+        sorted.sort(String::compareTo);
+        MatcherAssert.assertThat(codes, Matchers.equalTo(sorted));
+        MatcherAssert.assertThat(
+            codes.size(),
+            Matchers.equalTo(
+                new ReferenceCharts().get(ChartType.SYSCOHADA).size()
+            )
+        );
+    }
+
+    @Test
+    public void findsAccountsByCodePrefix() {
+        final ReferenceChart chart = new ReferenceCharts()
+            .get(ChartType.SYSCOHADA);
+        final List<String> codes = new ArrayList<>(0);
+        for (final Account account : chart.prefixed("52")) {
+            codes.add(account.code());
+        }
+        MatcherAssert.assertThat(
+            codes,
+            Matchers.contains("52", "521", "522", "523", "524", "525", "526")
+        );
+        MatcherAssert.assertThat(
+            chart.prefixed("4111").iterator().hasNext(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            chart.prefixed("899").iterator().next().code(),
+            Matchers.equalTo("899")
+        );
+    }
+
+    @Test
+    public void sharesOneCopyPerJvm() {
+        MatcherAssert.assertThat(
+            new ReferenceCharts().get(ChartType.SYSCOHADA),
+            Matchers.sameInstance(
+                new ReferenceCharts().get(ChartType.SYSCOHADA)
+            )
+        );
+    }
+
+    @Test
+    public void rejectsDuplicateCodes() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage("Account with code=411 already exists !");
+        new CompiledChart(
+            ChartType.SYSCOHADA,
+            "2017",
+            Arrays.asList(
+                new ReferenceAccount("411", "Clients", true),
+                new ReferenceAccount("401", "Fournisseurs", true),
+                new ReferenceAccount("411", "Clients", false)
+            )
+        ).write(Channels.newChannel(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void rejectsUnknownContent() {
+        this.thrown.expect(IllegalArgumentException.class);
+        this.thrown.expectMessage(
+            "Content is not a compiled reference chart !"
+        );
+        new ReferenceChart(ByteBuffer.wrap(new byte[16]));
+    }
+
+    /**
+     * Compile SYSCOHADA source.
+     * @return Compiled chart
+     * @throws Exception If fails
+     */
+    private static byte[] compile() throws Exception {
+        final List<Account> accounts = new ArrayList<>(0);
+        try (
+            InputStream input = ReferenceChartTest.class
+                .getResourceAsStream("/reference/syscohada.tsv");
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8)
+            )
+        ) {
+            reader.readLine();
+            String line = reader.readLine();
+            while (line != null) {
+                final String[] fields = line.split("\t");
+                accounts.add(
+                    new ReferenceAccount(
+                        fields[0], fields[1], "1".equals(fields[2])
+                    )
+                );
+                line = reader.readLine();
+            }
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CompiledChart(ChartType.SYSCOHADA, "2017", accounts)
+            .write(Channels.newChannel(output));
+        return output.toByteArray();
+    }
+
+    /**
+     * Bytes of a resource.
+     * @param name Resource name
+     * @return Bytes
+     * @throws Exception If fails
+     */
+    private static byte[] bytes(final String name) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = ReferenceChartTest.class
+            .getResourceAsStream(name)) {
+            final byte[] buffer = new byte[8192];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                output.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        return output.toByteArray();
+    }
+}
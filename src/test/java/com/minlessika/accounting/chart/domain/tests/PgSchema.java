@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018-2021 Minlessika, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.minlessika.accounting.chart.domain.tests;
+
+import java.sql.Connection;
+import javax.sql.DataSource;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+
+/**
+ * Schema of charts and accounts, as created by the changelog of the
+ * module.
+ *
+ * <p>Tests and benchmarks install it on their database before adding
+ * their rows, so that they run against the real migrations, like:
+ *
+ * <pre>
+ * final DataSource source = new EmbeddedPostgreSQLDataSource();
+ * new PgSchema(source).install();
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+public final class PgSchema {
+
+    /**
+     * Changelog of the module.
+     */
+    private static final String CHANGELOG =
+        "liquibase/db.changelog-master.xml";
+
+    /**
+     * Data source.
+     */
+    private final DataSource source;
+
+    /**
+     * Ctor.
+     * @param source Data source
+     */
+    public PgSchema(final DataSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Run all migrations of the changelog not run yet.
+     * @throws Exception If fails
+     */
+    public void install() throws Exception {
+        try (Connection connection = this.source.getConnection()) {
+            final Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(
+                    new JdbcConnection(connection)
+                );
+            new Liquibase(
+                PgSchema.CHANGELOG,
+                new ClassLoaderResourceAccessor(),
+                database
+            ).update(new Contexts(), new LabelExpression());
+        }
+    }
+}